@@ -0,0 +1,16 @@
+package com.contacts.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 联系人只读服务（WebFlux + R2DBC）
+ * 与 backend 共用 contacts 表，只提供查询接口；写操作仍由 backend 的 JPA 实现处理
+ */
+@SpringBootApplication
+public class ReactiveContactsApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveContactsApplication.class, args);
+    }
+}
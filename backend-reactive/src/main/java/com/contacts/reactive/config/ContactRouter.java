@@ -0,0 +1,28 @@
+package com.contacts.reactive.config;
+
+import com.contacts.reactive.handler.ContactHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * 联系人查询路由，路径与 backend 相同，可在网关上把这些 GET 请求转发到本服务
+ */
+@Configuration
+public class ContactRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> contactRoutes(ContactHandler handler) {
+        return RouterFunctions.route()
+                .path("/api/contacts", builder -> builder
+                        .GET("", handler::getAllContacts)
+                        .GET("/stream", handler::streamAllContacts)
+                        .GET("/bookmarked", handler::getBookmarkedContacts)
+                        .GET("/search", handler::searchContacts)
+                        .GET("/{id}", handler::getContactById))
+                .GET("/health", request -> ServerResponse.ok().bodyValue("Reactive backend is running!"))
+                .build();
+    }
+}
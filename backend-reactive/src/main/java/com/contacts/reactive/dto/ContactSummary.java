@@ -0,0 +1,47 @@
+package com.contacts.reactive.dto;
+
+import com.contacts.reactive.entity.Contact;
+import com.contacts.reactive.utils.AvatarUtil;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 联系人列表项（轻量投影），与 backend 的 ContactSummary 字段一致
+ * 只包含列表展示需要的字段，头像通过 avatarUrl 单独加载
+ */
+@Data
+@NoArgsConstructor
+public class ContactSummary {
+
+    private Long id;
+
+    private String name;
+
+    private String phone;
+
+    private String company;
+
+    private Boolean bookmarked;
+
+    private LocalDateTime updatedTime;
+
+    // 头像地址，没有头像时为空
+    private String avatarUrl;
+
+    /**
+     * 由只查询了列表项字段的联系人生成
+     */
+    public static ContactSummary from(Contact contact) {
+        ContactSummary summary = new ContactSummary();
+        summary.setId(contact.getId());
+        summary.setName(contact.getName());
+        summary.setPhone(contact.getPhone());
+        summary.setCompany(contact.getCompany());
+        summary.setBookmarked(contact.getBookmarked());
+        summary.setUpdatedTime(contact.getUpdatedTime());
+        summary.setAvatarUrl(AvatarUtil.urlOf(contact.getAvatarHash()));
+        return summary;
+    }
+}
@@ -0,0 +1,63 @@
+package com.contacts.reactive.entity;
+
+import com.contacts.reactive.utils.AvatarUtil;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * 联系人（只读映射）
+ * 对应 backend 中 JPA 实体 com.contacts.entity.Contact 的 contacts 表，JSON 字段与其一致；
+ * 不读取拼音、首字母和旧的 data URL 头像列
+ */
+@Data
+@Table("contacts")
+public class Contact {
+
+    @Id
+    private Long id;
+
+    @Column("name")
+    private String name;
+
+    @Column("phone")
+    private String phone;
+
+    @Column("email")
+    private String email;
+
+    @Column("address")
+    private String address;
+
+    @Column("company")
+    private String company;
+
+    // 头像存储中的引用（图片内容的 SHA-256）
+    @Column("avatar_hash")
+    private String avatarHash;
+
+    @Column("wechat")
+    private String wechat;
+
+    @Column("qq")
+    private String qq;
+
+    @Column("bookmarked")
+    private Boolean bookmarked;
+
+    @Column("created_time")
+    private LocalDateTime createdTime;
+
+    @Column("updated_time")
+    private LocalDateTime updatedTime;
+
+    /**
+     * 头像访问地址，由 avatarHash 生成，不持久化
+     */
+    public String getAvatarUrl() {
+        return AvatarUtil.urlOf(avatarHash);
+    }
+}
@@ -0,0 +1,122 @@
+package com.contacts.reactive.handler;
+
+import com.contacts.reactive.dto.ContactSummary;
+import com.contacts.reactive.entity.Contact;
+import com.contacts.reactive.repository.ContactRepository;
+import com.contacts.reactive.utils.ETagUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 联系人查询接口的处理函数，与 backend ContactController 的 GET 接口对应
+ * 列表默认返回JSON数组；请求 Accept 为 application/x-ndjson 时每行一个对象，边查询边写出。
+ * 两种格式都按客户端的读取速度从数据库拉取数据，慢客户端不会使服务端积压整张表
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ContactHandler {
+
+    private final ContactRepository contactRepository;
+
+    /**
+     * 获取所有联系人，默认返回不含头像的列表项，full=true 时返回完整联系人
+     */
+    public Mono<ServerResponse> getAllContacts(ServerRequest request) {
+        return isFull(request)
+                ? list(request, contactRepository.findAllOrderById(), Contact.class)
+                : list(request, contactRepository.findAllSummaries().map(ContactSummary::from), ContactSummary.class);
+    }
+
+    /**
+     * 以 NDJSON 格式流式输出所有联系人
+     */
+    public Mono<ServerResponse> streamAllContacts(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(contactRepository.findAllOrderById(), Contact.class);
+    }
+
+    /**
+     * 获取收藏的联系人
+     */
+    public Mono<ServerResponse> getBookmarkedContacts(ServerRequest request) {
+        return isFull(request)
+                ? list(request, contactRepository.findBookmarked(), Contact.class)
+                : list(request, contactRepository.findBookmarkedSummaries().map(ContactSummary::from),
+                        ContactSummary.class);
+    }
+
+    /**
+     * 按姓名、电话或邮箱搜索联系人，关键词为空时返回所有联系人
+     */
+    public Mono<ServerResponse> searchContacts(ServerRequest request) {
+        String keyword = request.queryParam("keyword").map(String::trim).orElse("");
+        if (keyword.isEmpty()) {
+            return getAllContacts(request);
+        }
+        return isFull(request)
+                ? list(request, contactRepository.search(keyword), Contact.class)
+                : list(request, contactRepository.searchSummaries(keyword).map(ContactSummary::from),
+                        ContactSummary.class);
+    }
+
+    /**
+     * 根据ID获取联系人，返回与 backend 相同格式的 ETag，If-None-Match 匹配时返回 304
+     */
+    public Mono<ServerResponse> getContactById(ServerRequest request) {
+        Long id = parseId(request.pathVariable("id"));
+        if (id == null) {
+            return ServerResponse.badRequest().build();
+        }
+        return contactRepository.findById(id)
+                .flatMap(contact -> {
+                    String eTag = ETagUtil.of(contact.getId(), contact.getUpdatedTime());
+                    return request.checkNotModified(eTag)
+                            .switchIfEmpty(Mono.defer(() -> ServerResponse.ok()
+                                    .eTag(eTag)
+                                    .cacheControl(CacheControl.noCache())
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .bodyValue(contact)));
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.debug("联系人不存在，ID: {}", id);
+                    return ServerResponse.notFound().build();
+                }));
+    }
+
+    // ========== 私有辅助方法 ==========
+
+    private <T> Mono<ServerResponse> list(ServerRequest request, Flux<T> body, Class<T> type) {
+        MediaType contentType = acceptsNdjson(request) ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(contentType)
+                .body(body, type);
+    }
+
+    private static boolean acceptsNdjson(ServerRequest request) {
+        return request.headers().accept().stream()
+                .anyMatch(type -> type.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON));
+    }
+
+    private static boolean isFull(ServerRequest request) {
+        return request.queryParam("full").map(Boolean::parseBoolean).orElse(false);
+    }
+
+    private static Long parseId(String value) {
+        try {
+            long id = Long.parseLong(value);
+            return id > 0 ? id : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
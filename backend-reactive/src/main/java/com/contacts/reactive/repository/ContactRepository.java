@@ -0,0 +1,47 @@
+package com.contacts.reactive.repository;
+
+import com.contacts.reactive.entity.Contact;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * 联系人只读数据访问接口
+ * 查询结果按客户端的消费速度从数据库逐行读取（R2DBC 背压），不会一次性加载到内存。
+ * 列表项查询只选择列表需要的列，其余字段为空
+ */
+@Repository
+public interface ContactRepository extends ReactiveCrudRepository<Contact, Long> {
+
+    String SUMMARY_COLUMNS = "SELECT id, name, phone, company, bookmarked, updated_time, avatar_hash FROM contacts ";
+
+    String FULL_COLUMNS = "SELECT id, name, phone, email, address, company, avatar_hash, wechat, qq, bookmarked, " +
+            "created_time, updated_time FROM contacts ";
+
+    String SEARCH_CONDITION = "WHERE name LIKE CONCAT('%', :keyword, '%') OR phone LIKE CONCAT('%', :keyword, '%') " +
+            "OR email LIKE CONCAT('%', :keyword, '%') ";
+
+    @Query(FULL_COLUMNS + "ORDER BY id ASC")
+    Flux<Contact> findAllOrderById();
+
+    @Query(SUMMARY_COLUMNS + "ORDER BY id ASC")
+    Flux<Contact> findAllSummaries();
+
+    @Query(FULL_COLUMNS + "WHERE bookmarked = TRUE ORDER BY id ASC")
+    Flux<Contact> findBookmarked();
+
+    @Query(SUMMARY_COLUMNS + "WHERE bookmarked = TRUE ORDER BY id ASC")
+    Flux<Contact> findBookmarkedSummaries();
+
+    /**
+     * 按姓名、电话或邮箱模糊搜索
+     * @param keyword 搜索关键词
+     */
+    @Query(FULL_COLUMNS + SEARCH_CONDITION + "ORDER BY id ASC")
+    Flux<Contact> search(@Param("keyword") String keyword);
+
+    @Query(SUMMARY_COLUMNS + SEARCH_CONDITION + "ORDER BY id ASC")
+    Flux<Contact> searchSummaries(@Param("keyword") String keyword);
+}
@@ -0,0 +1,20 @@
+package com.contacts.reactive.utils;
+
+/**
+ * 头像地址
+ * 头像由 backend 提供，本服务与 backend 部署在同一网关后时相对地址可以直接使用
+ */
+public class AvatarUtil {
+
+    private static final String AVATAR_URL_PREFIX = "/api/avatars/";
+
+    private AvatarUtil() {
+    }
+
+    /**
+     * 头像 hash 对应的访问地址，没有头像时返回 null
+     */
+    public static String urlOf(String hash) {
+        return hash == null ? null : AVATAR_URL_PREFIX + hash;
+    }
+}
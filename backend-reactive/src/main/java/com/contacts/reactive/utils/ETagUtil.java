@@ -0,0 +1,26 @@
+package com.contacts.reactive.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 单个联系人的 ETag，与 backend 的 ETagUtil 格式相同（ID + 更新时间，精确到微秒），
+ * 两个服务返回的 ETag 可以互相用于 If-None-Match 和 If-Match
+ */
+public class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    /**
+     * @param id 联系人ID
+     * @param updatedTime 更新时间，旧数据可能为空
+     */
+    public static String of(Long id, LocalDateTime updatedTime) {
+        long micros = 0;
+        if (updatedTime != null) {
+            micros = updatedTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedTime.getNano() / 1_000;
+        }
+        return "\"" + id + "-" + micros + "\"";
+    }
+}
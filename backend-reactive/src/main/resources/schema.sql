@@ -0,0 +1,25 @@
+-- 开发和测试使用的 H2 表结构，与 backend 中 JPA 实体 Contact 生成的 contacts 表一致
+-- 生产环境不执行（spring.sql.init.mode=never），表结构由 backend 维护
+CREATE SEQUENCE IF NOT EXISTS contacts_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS contacts (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    name          VARCHAR(100) NOT NULL,
+    name_pinyin   VARCHAR(800),
+    name_initials VARCHAR(100),
+    phone         VARCHAR(20)  NOT NULL,
+    email         VARCHAR(100),
+    address       VARCHAR(200),
+    company       VARCHAR(100),
+    avatar        CLOB,
+    avatar_hash   VARCHAR(64),
+    wechat        VARCHAR(50),
+    qq            VARCHAR(20),
+    bookmarked    BOOLEAN      NOT NULL,
+    created_time  TIMESTAMP(6),
+    updated_time  TIMESTAMP(6),
+    CONSTRAINT uk_contacts_phone UNIQUE (phone)
+);
+
+CREATE INDEX IF NOT EXISTS idx_contacts_name_id ON contacts (name, id);
+CREATE INDEX IF NOT EXISTS idx_contacts_updated_time_id ON contacts (updated_time, id);
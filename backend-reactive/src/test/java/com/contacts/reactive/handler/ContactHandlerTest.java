@@ -0,0 +1,106 @@
+package com.contacts.reactive.handler;
+
+import com.contacts.reactive.dto.ContactSummary;
+import com.contacts.reactive.entity.Contact;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class ContactHandlerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    public void setUp() {
+        databaseClient.sql("DELETE FROM contacts").then()
+                .then(insert(1, "张三", "13800000001", false))
+                .then(insert(2, "李四", "13800000002", true))
+                .then(insert(3, "王五", "13900000003", false))
+                .block();
+    }
+
+    private Mono<Void> insert(long id, String name, String phone, boolean bookmarked) {
+        return databaseClient.sql("INSERT INTO contacts (id, name, phone, email, company, bookmarked, created_time, "
+                        + "updated_time) VALUES (:id, :name, :phone, :email, '测试公司', :bookmarked, "
+                        + "TIMESTAMP '2025-01-01 08:00:00.123456', TIMESTAMP '2025-01-01 08:00:00.123456')")
+                .bind("id", id)
+                .bind("name", name)
+                .bind("phone", phone)
+                .bind("email", "user" + id + "@example.com")
+                .bind("bookmarked", bookmarked)
+                .then();
+    }
+
+    @Test
+    public void testListBookmarkedAndSearch() {
+        List<ContactSummary> summaries = webTestClient.get().uri("/api/contacts")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ContactSummary.class).returnResult().getResponseBody();
+        assertEquals(List.of("张三", "李四", "王五"), summaries.stream().map(ContactSummary::getName).toList());
+        assertNull(summaries.get(0).getAvatarUrl());
+
+        webTestClient.get().uri("/api/contacts/bookmarked?full=true")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].email").isEqualTo("user2@example.com");
+
+        webTestClient.get().uri("/api/contacts/search?keyword=1390")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[0].name").isEqualTo("王五")
+                .jsonPath("$.length()").isEqualTo(1);
+    }
+
+    @Test
+    public void testStreamWithBackpressure() {
+        // 每次只请求一条，验证结果按需逐条产生
+        StepVerifier.create(webTestClient.get().uri("/api/contacts?full=true")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                        .returnResult(Contact.class).getResponseBody(), 1)
+                .assertNext(contact -> assertEquals("张三", contact.getName()))
+                .thenRequest(2)
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void testGetByIdWithETag() {
+        String eTag = webTestClient.get().uri("/api/contacts/2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"2-1735718400123456\"")
+                .expectBody().jsonPath("$.name").isEqualTo("李四")
+                .returnResult().getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/api/contacts/2")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        webTestClient.get().uri("/api/contacts/99").exchange().expectStatus().isNotFound();
+        webTestClient.get().uri("/api/contacts/abc").exchange().expectStatus().isBadRequest();
+    }
+}
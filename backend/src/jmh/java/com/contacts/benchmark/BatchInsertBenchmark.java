@@ -0,0 +1,85 @@
+package com.contacts.benchmark;
+
+import com.contacts.dto.BatchCreateResponse;
+import com.contacts.entity.Contact;
+import com.contacts.service.ContactService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量写入联系人的基准测试，得分为每秒写入的行数
+ * 对比批量创建接口使用的 createContacts（同一事务内按 JDBC 批次插入）与逐条调用 createContact，
+ * jdbcBatchSize=1 相当于关闭 JDBC 批量。每次调用写入 1000 个号码不重复的新联系人，表中数据随运行增长；
+ * H2 与 Hibernate 的插入路径需要较长时间才能达到稳定吞吐，预热约 50 秒
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BatchInsertBenchmark {
+
+    private static final int ROWS_PER_INVOCATION = 1000;
+
+    @Param({"1", "100"})
+    private int jdbcBatchSize;
+
+    private BenchmarkDatabase database;
+
+    private ContactService contactService;
+
+    // 下一个联系人的序号，号码由序号生成
+    private int next;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start(0, "contacts.batch.jdbc-batch-size=" + jdbcBatchSize);
+        contactService = database.getBean(ContactService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public BatchCreateResponse createContacts() {
+        return contactService.createContacts(nextContacts());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS_PER_INVOCATION)
+    public void createContactEach(Blackhole blackhole) {
+        for (Contact contact : nextContacts()) {
+            blackhole.consume(contactService.createContact(contact));
+        }
+    }
+
+    private List<Contact> nextContacts() {
+        List<Contact> contacts = new ArrayList<>(ROWS_PER_INVOCATION);
+        for (int i = 0; i < ROWS_PER_INVOCATION; i++) {
+            Contact contact = BenchmarkData.contact(next++);
+            contact.setId(null);
+            contacts.add(contact);
+        }
+        return contacts;
+    }
+}
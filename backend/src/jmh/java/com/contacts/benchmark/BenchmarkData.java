@@ -0,0 +1,53 @@
+package com.contacts.benchmark;
+
+import com.contacts.entity.Contact;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试使用的联系人数据
+ * 内容固定（不使用随机数），各次运行的结果可以相互比较
+ */
+public final class BenchmarkData {
+
+    private static final String[] SURNAMES = {"张", "王", "李", "赵", "陈", "刘", "杨", "黄", "周", "吴"};
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "秀英", "敏", "静", "丽", "强", "磊", "军"};
+    private static final String[] COMPANIES = {"福州大学", "示例科技有限公司", null, "某某贸易公司"};
+
+    private static final LocalDateTime CREATED_TIME = LocalDateTime.of(2024, 1, 1, 9, 30);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成 count 个字段齐全的联系人，ID 从1开始
+     */
+    public static List<Contact> contacts(int count) {
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            contacts.add(contact(i));
+        }
+        return contacts;
+    }
+
+    /**
+     * 第 i 个联系人（从0开始）
+     */
+    public static Contact contact(int i) {
+        Contact contact = new Contact(
+                SURNAMES[i % SURNAMES.length] + GIVEN_NAMES[(i / SURNAMES.length) % GIVEN_NAMES.length],
+                String.valueOf(13800000000L + i),
+                "user" + i + "@example.com",
+                "福建省福州市闽侯县学园路" + (i % 200 + 1) + "号",
+                COMPANIES[i % COMPANIES.length]);
+        contact.setId(i + 1L);
+        contact.setWechat("wx_user" + i);
+        contact.setQq(String.valueOf(100000 + i));
+        contact.setBookmarked(i % 7 == 0);
+        contact.setCreatedTime(CREATED_TIME);
+        contact.setUpdatedTime(CREATED_TIME.plusMinutes(i));
+        return contact;
+    }
+}
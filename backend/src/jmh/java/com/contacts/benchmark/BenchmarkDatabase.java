@@ -0,0 +1,107 @@
+package com.contacts.benchmark;
+
+import com.contacts.ContactsApplication;
+import com.contacts.dedupe.PhoneExistenceFilter;
+import com.contacts.entity.Contact;
+import com.contacts.search.ContactSearchIndex;
+import com.contacts.utils.PinyinUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 基准测试使用的应用上下文和数据库
+ * 以 dev 配置启动不带 Web 服务器的应用（H2 内存库），关闭 SQL 和业务日志，
+ * 再用 JDBC 批量写入 BenchmarkData 生成的联系人，绕过服务层以缩短准备时间。
+ * 写入后重建搜索索引和号码过滤器，并把ID序列推进到已有数据之后
+ */
+final class BenchmarkDatabase implements AutoCloseable {
+
+    private static final String INSERT_SQL = "INSERT INTO contacts (id, name, name_pinyin, name_initials, phone, "
+            + "email, address, company, wechat, qq, bookmarked, created_time, updated_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // 每批写入的行数
+    private static final int SEED_BATCH_SIZE = 5000;
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDatabase(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * 启动应用并写入 rows 个联系人（ID 为 1..rows）
+     * @param rows 预置的联系人数量
+     * @param properties 额外的配置，格式为 key=value，优先于配置文件
+     */
+    static BenchmarkDatabase start(int rows, String... properties) {
+        String[] args = Stream.concat(Stream.of(
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "logging.level.com.contacts=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        "contacts.avatar.migrate-inline=false"), Stream.of(properties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ContactsApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        BenchmarkDatabase database = new BenchmarkDatabase(context);
+        try {
+            database.seed(rows);
+        } catch (RuntimeException e) {
+            database.close();
+            throw e;
+        }
+        return database;
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(int rows) {
+        JdbcTemplate jdbcTemplate = getBean(JdbcTemplate.class);
+        // 姓名只有少数几种，拼音按姓名缓存
+        Map<String, PinyinUtil.NameKeys> nameKeys = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Contact contact = BenchmarkData.contact(i);
+            PinyinUtil.NameKeys keys = nameKeys.computeIfAbsent(contact.getName(), PinyinUtil::of);
+            batch.add(new Object[]{contact.getId(), contact.getName(), keys.getPinyin(), keys.getInitials(),
+                    contact.getPhone(), contact.getEmail(), contact.getAddress(), contact.getCompany(),
+                    contact.getWechat(), contact.getQq(), contact.getBookmarked(),
+                    Timestamp.valueOf(contact.getCreatedTime()), Timestamp.valueOf(contact.getUpdatedTime())});
+            if (batch.size() == SEED_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        // pooled 序列返回的是一段ID的上界，留出一个步长避免与预置数据冲突
+        jdbcTemplate.execute("ALTER SEQUENCE " + Contact.ID_SEQUENCE + " RESTART WITH "
+                + (rows + Contact.ID_ALLOCATION_SIZE + 1));
+
+        getBean(ContactSearchIndex.class).rebuild();
+        getBean(PhoneExistenceFilter.class).rebuild();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,188 @@
+package com.contacts.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * 运行 JMH 基准并与基线比较
+ * 吞吐量低于基线或耗时高于基线超过容差（默认 25%），且两次结果的 99.9% 置信区间不重叠时，
+ * 视为性能下降并以非零状态退出，使构建失败。
+ * 基线与运行机器相关，更换 CI 机器后应先用 -Djmh.updateBaseline=true 重新记录。
+ * 系统属性：jmh.baseline 基线文件，jmh.result JMH 原始结果文件，jmh.tolerance 容差，jmh.updateBaseline 是否覆盖基线
+ */
+public class BenchmarkRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public static void main(String[] args) throws Exception {
+        String includes = args.length > 0 ? args[0] : "com.contacts";
+        Path baselineFile = Paths.get(System.getProperty("jmh.baseline", "src/jmh/resources/jmh-baseline.json"));
+        Path resultFile = Paths.get(System.getProperty("jmh.result", "target/jmh-result.json"));
+        double tolerance = Double.parseDouble(System.getProperty("jmh.tolerance", "0.25"));
+        boolean updateBaseline = Boolean.parseBoolean(System.getProperty("jmh.updateBaseline", "false"));
+
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+                .include(includes)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .addProfiler(PeakHeapProfiler.class)
+                .build();
+        Map<String, Score> current = toScores(new Runner(options).run());
+
+        if (updateBaseline) {
+            writeBaseline(baselineFile, mergeBaseline(readBaseline(baselineFile), current));
+            System.out.println("已更新基线: " + baselineFile);
+            return;
+        }
+
+        Map<String, Score> baseline = readBaseline(baselineFile);
+        int regressions = 0;
+        System.out.println();
+        System.out.printf("%-80s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score base = baseline.get(entry.getKey());
+            if (base == null || !base.unit.equals(now.unit)) {
+                System.out.printf("%-80s %14s %14.3f %9s  %s%n", entry.getKey(), "-", now.score, "-", now.unit);
+                continue;
+            }
+            // 变化率统一换算为“越大越好”：吞吐量看增长，耗时看下降
+            double change = now.higherIsBetter()
+                    ? now.score / base.score - 1
+                    : base.score / now.score - 1;
+            boolean regressed = change < -tolerance && Math.abs(now.score - base.score) > now.error + base.error;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-80s %14.3f %14.3f %+8.1f%%  %s%s%n", entry.getKey(), base.score, now.score,
+                    change * 100, now.unit, regressed ? "  <-- 性能下降" : "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d 项基准比基线差 %.0f%% 以上%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 以“基准方法:参数”为键整理结果，如 ExcelBenchmark.importStreaming:rows=2000
+     * 采样时间模式的基准另记一项 p99，键为“基准方法·p0.99:参数”，分位数没有置信区间，误差记为0；
+     * 辅助计数器和 PeakHeapProfiler 等次要结果同样另记，键为“基准方法·结果名:参数”，
+     * 单位与主结果相同的沿用主结果的模式，其余（如 MB）按越小越好比较。
+     * 堆峰值没有置信区间且受 GC 时机影响，误差至少按 1MB 记，避免几乎不占内存的基准因零点几 MB 的波动被判为下降
+     */
+    private static Map<String, Score> toScores(Collection<RunResult> results) {
+        Map<String, Score> scores = new TreeMap<>();
+        for (RunResult run : results) {
+            String benchmark = run.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            String params = run.getParams().getParamsKeys().stream()
+                    .map(key -> key + "=" + run.getParams().getParam(key))
+                    .collect(Collectors.joining(","));
+            String suffix = params.isEmpty() ? "" : ":" + params;
+            String mode = run.getParams().getMode().shortLabel();
+            Result<?> primary = run.getPrimaryResult();
+            scores.put(name + suffix, new Score(mode, primary.getScore(),
+                    finiteOrZero(primary.getScoreError()), primary.getScoreUnit()));
+            if (run.getParams().getMode() == Mode.SampleTime) {
+                scores.put(name + "·p0.99" + suffix, new Score(mode,
+                        primary.getStatistics().getPercentile(99), 0, primary.getScoreUnit()));
+            }
+            for (Map.Entry<String, Result> entry : run.getAggregatedResult().getSecondaryResults().entrySet()) {
+                Result<?> secondary = entry.getValue();
+                String secondaryMode = secondary.getScoreUnit().equals(primary.getScoreUnit()) ? mode : "max";
+                double error = finiteOrZero(secondary.getScoreError());
+                if ("MB".equals(secondary.getScoreUnit())) {
+                    error = Math.max(error, 1);
+                }
+                scores.put(name + "·" + entry.getKey() + suffix, new Score(secondaryMode, secondary.getScore(),
+                        error, secondary.getScoreUnit()));
+            }
+        }
+        return scores;
+    }
+
+    private static Map<String, Score> readBaseline(Path file) throws Exception {
+        Map<String, Score> scores = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return scores;
+        }
+        JsonNode results = MAPPER.readTree(file.toFile()).path("results");
+        results.fields().forEachRemaining(entry -> scores.put(entry.getKey(), new Score(
+                entry.getValue().path("mode").asText(),
+                entry.getValue().path("score").asDouble(),
+                entry.getValue().path("error").asDouble(),
+                entry.getValue().path("unit").asText())));
+        return scores;
+    }
+
+    /**
+     * 用本次结果替换基线中对应基准类的全部条目，未运行的基准类保持不变
+     */
+    private static Map<String, Score> mergeBaseline(Map<String, Score> baseline, Map<String, Score> current) {
+        Set<String> classes = current.keySet().stream().map(BenchmarkRunner::benchmarkClass).collect(Collectors.toSet());
+        Map<String, Score> merged = new TreeMap<>(baseline);
+        merged.keySet().removeIf(key -> classes.contains(benchmarkClass(key)));
+        merged.putAll(current);
+        return merged;
+    }
+
+    private static String benchmarkClass(String key) {
+        return key.substring(0, key.indexOf('.'));
+    }
+
+    private static void writeBaseline(Path file, Map<String, Score> scores) throws Exception {
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("recorded", LocalDate.now().toString());
+        root.put("jvm", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        root.put("processors", Runtime.getRuntime().availableProcessors());
+        ObjectNode results = root.putObject("results");
+        scores.forEach((key, score) -> {
+            ObjectNode node = results.putObject(key);
+            node.put("mode", score.mode);
+            node.put("score", round(score.score));
+            node.put("error", round(score.error));
+            node.put("unit", score.unit);
+        });
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), root);
+    }
+
+    private static double finiteOrZero(double value) {
+        return Double.isFinite(value) ? value : 0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    /**
+     * 一项基准的得分，error 为 99.9% 置信区间的半宽
+     */
+    private record Score(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return Mode.Throughput.shortLabel().equals(mode);
+        }
+    }
+}
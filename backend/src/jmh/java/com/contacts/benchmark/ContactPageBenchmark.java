@@ -0,0 +1,79 @@
+package com.contacts.benchmark;
+
+import com.contacts.dto.ContactCursor;
+import com.contacts.dto.ContactSummary;
+import com.contacts.dto.CursorPage;
+import com.contacts.entity.Contact;
+import com.contacts.service.ContactService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 联系人列表键集分页的基准测试
+ * 按采样时间统计（输出 p0.99 等分位数），比较 1 万与 100 万联系人时首页和末尾附近一页的耗时，
+ * 键集分页沿索引定位，页的位置和总行数都不应明显影响 p99
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ContactPageBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "1000000"})
+    private int rows;
+
+    private BenchmarkDatabase database;
+
+    private ContactService contactService;
+
+    // 按 id 排序时倒数第二页的起点
+    private String deepIdCursor;
+
+    // 按姓名排序时第 90% 个联系人之后的一页
+    private String deepNameCursor;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start(rows);
+        contactService = database.getBean(ContactService.class);
+        deepIdCursor = String.valueOf(rows - 2L * PAGE_SIZE);
+        Contact contact = BenchmarkData.contact(rows / 10 * 9);
+        deepNameCursor = new ContactCursor(ContactCursor.SORT_NAME, contact.getId(), contact.getName()).encode();
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public CursorPage<ContactSummary> firstPage() {
+        return contactService.getContactSummaryPage(ContactCursor.SORT_ID, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<ContactSummary> deepPageById() {
+        return contactService.getContactSummaryPage(ContactCursor.SORT_ID, deepIdCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<ContactSummary> deepPageByName() {
+        return contactService.getContactSummaryPage(ContactCursor.SORT_NAME, deepNameCursor, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.contacts.benchmark;
+
+import com.contacts.dto.ContactSummary;
+import com.contacts.repository.ContactRepository;
+import com.contacts.service.ContactService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 联系人搜索的基准测试
+ * 对比 ContactSearchIndex（三元组倒排索引，再按ID加载列表项）与索引不可用时回退的 LIKE '%keyword%' 查询。
+ * 关键词：两个字的常见姓名（走二元组，约 1% 的联系人命中）、电话号码片段和邮箱片段（走三元组，命中很少）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ContactSearchBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    @Param({"张伟", "0012345", "user12345@"})
+    private String keyword;
+
+    private BenchmarkDatabase database;
+
+    private ContactService contactService;
+
+    private ContactRepository contactRepository;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        database = BenchmarkDatabase.start(rows);
+        contactService = database.getBean(ContactService.class);
+        contactRepository = database.getBean(ContactRepository.class);
+        readOnlyTransaction = new TransactionTemplate(database.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        database.close();
+    }
+
+    @Benchmark
+    public List<ContactSummary> index() {
+        return contactService.searchContactSummaries(keyword);
+    }
+
+    @Benchmark
+    public List<ContactSummary> like() {
+        return readOnlyTransaction.execute(status -> contactRepository.searchSummariesByNameOrPhoneOrEmail(keyword));
+    }
+}
@@ -0,0 +1,88 @@
+package com.contacts.benchmark;
+
+import com.contacts.entity.Contact;
+import com.contacts.utils.ExcelContactReader;
+import com.contacts.utils.ExcelContactWriter;
+import com.contacts.utils.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Excel 行映射的基准测试
+ * 对比 ExcelUtil 的内存方式与 ExcelContactReader / ExcelContactWriter 的流式方式，
+ * 大文件导入每秒行数与堆占用峰值见 ExcelImportMemoryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelBenchmark {
+
+    @Param({"100", "2000"})
+    private int rows;
+
+    private List<Contact> contacts;
+
+    private byte[] workbook;
+
+    private Path workbookFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        contacts = BenchmarkData.contacts(rows);
+        workbook = ExcelUtil.exportToExcel(contacts);
+        workbookFile = Files.createTempFile("contacts-benchmark-", ".xlsx");
+        Files.write(workbookFile, workbook);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(workbookFile);
+    }
+
+    @Benchmark
+    public byte[] exportInMemory() throws IOException {
+        return ExcelUtil.exportToExcel(contacts);
+    }
+
+    @Benchmark
+    public int exportStreaming() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(workbook.length);
+        try (ExcelContactWriter writer = new ExcelContactWriter()) {
+            contacts.forEach(writer::write);
+            writer.finish(out);
+        }
+        return out.size();
+    }
+
+    @Benchmark
+    public List<Contact> importInMemory() throws IOException {
+        return ExcelUtil.importFromExcel(new MockMultipartFile("file", "contacts.xlsx", null, workbook));
+    }
+
+    @Benchmark
+    public int importStreaming(Blackhole blackhole) throws IOException {
+        return ExcelContactReader.read(workbookFile, (contact, rowNumber) -> blackhole.consume(contact));
+    }
+}
@@ -0,0 +1,100 @@
+package com.contacts.benchmark;
+
+import com.contacts.entity.Contact;
+import com.contacts.utils.ExcelContactReader;
+import com.contacts.utils.ExcelContactWriter;
+import com.contacts.utils.ExcelUtil;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大文件 Excel 导入的吞吐量与内存占用
+ * 对比 ExcelUtil（整个工作簿载入内存）与流式 ExcelContactReader：
+ * 辅助计数器 rows 为每秒导入的行数，PeakHeapProfiler 的 peakHeap 为导入过程中堆占用的峰值（MB）。
+ * 分叉 JVM 使用 Serial GC 和 64MB 新生代，使导入过程中 GC 足够频繁、短命对象不计入峰值
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-XX:+UseSerialGC", "-Xmn64m",
+        "-D" + PeakHeapProfiler.ENABLED_PROPERTY + "=true"})
+public class ExcelImportMemoryBenchmark {
+
+    @Param({"20000", "100000"})
+    private int rows;
+
+    private byte[] workbook;
+
+    private Path workbookFile;
+
+    /**
+     * 每秒导入的行数
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class ImportedRows {
+
+        public long rows;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        workbookFile = Files.createTempFile("contacts-benchmark-", ".xlsx");
+        try (ExcelContactWriter writer = new ExcelContactWriter();
+             OutputStream out = Files.newOutputStream(workbookFile)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(BenchmarkData.contact(i));
+            }
+            writer.finish(out);
+        }
+        workbook = Files.readAllBytes(workbookFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(workbookFile);
+    }
+
+    @Benchmark
+    public List<Contact> importInMemory(ImportedRows imported) throws IOException {
+        List<Contact> contacts = ExcelUtil.importFromExcel(
+                new MockMultipartFile("file", "contacts.xlsx", null, workbook));
+        imported.rows += contacts.size();
+        return contacts;
+    }
+
+    @Benchmark
+    public int importStreaming(ImportedRows imported, Blackhole blackhole) throws IOException {
+        int count = ExcelContactReader.read(workbookFile, (contact, rowNumber) -> blackhole.consume(contact));
+        imported.rows += count;
+        return count;
+    }
+}
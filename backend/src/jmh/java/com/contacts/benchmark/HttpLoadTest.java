@@ -0,0 +1,118 @@
+package com.contacts.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP 压力测试，用于比较平台线程与虚拟线程两种运行模式
+ * 闭环模型：每个客户端收到响应后立即发送下一个请求，并发数恒定为客户端数；
+ * 客户端使用异步 HttpClient，2000 个客户端也不需要 2000 个线程。
+ * 只依赖 JDK，可以直接运行源文件：
+ * java -Dload.clients=2000 src/jmh/java/com/contacts/benchmark/HttpLoadTest.java
+ * 系统属性：load.url 服务地址，load.paths 逗号分隔的请求路径（轮流使用），load.clients 并发客户端数，
+ * load.warmup 预热时长，load.duration 统计时长
+ */
+public class HttpLoadTest {
+
+    // 延迟按毫秒分桶，超过上限的计入最后一个桶
+    private static final int MAX_LATENCY_MILLIS = 60_000;
+
+    private final AtomicLongArray histogram = new AtomicLongArray(MAX_LATENCY_MILLIS + 1);
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean measuring;
+
+    private volatile boolean stopped;
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("load.url", "http://localhost:8080");
+        List<String> paths = List.of(System.getProperty("load.paths", "/api/contacts/1,/api/contacts?limit=20").split(","));
+        int clients = Integer.parseInt(System.getProperty("load.clients", "2000"));
+        Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+        Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "30s"));
+
+        new HttpLoadTest().run(url, paths, clients, warmup, duration);
+    }
+
+    private void run(String url, List<String> paths, int clients, Duration warmup, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        List<HttpRequest> requests = paths.stream()
+                .map(path -> HttpRequest.newBuilder(URI.create(url + path.trim())).timeout(Duration.ofSeconds(60)).build())
+                .toList();
+
+        System.out.printf("%s  %d 个客户端，预热 %ds，统计 %ds%n", url, clients, warmup.toSeconds(), duration.toSeconds());
+        CountDownLatch finished = new CountDownLatch(clients);
+        for (int i = 0; i < clients; i++) {
+            sendNext(client, requests, i, finished);
+        }
+
+        Thread.sleep(warmup.toMillis());
+        measuring = true;
+        long start = System.nanoTime();
+        Thread.sleep(duration.toMillis());
+        measuring = false;
+        double seconds = (System.nanoTime() - start) / 1e9;
+        stopped = true;
+        finished.await(90, TimeUnit.SECONDS);
+
+        long total = completed.sum();
+        System.out.printf("请求数: %d，失败: %d，吞吐量: %.1f req/s%n", total, failed.sum(), total / seconds);
+        System.out.printf("延迟(ms)  p50: %d  p90: %d  p99: %d  p99.9: %d  max: %d%n",
+                percentile(0.50), percentile(0.90), percentile(0.99), percentile(0.999), percentile(1.0));
+    }
+
+    /**
+     * 发送一个请求，完成后发送下一个，直到测试结束
+     */
+    private void sendNext(HttpClient client, List<HttpRequest> requests, int sequence, CountDownLatch finished) {
+        if (stopped) {
+            finished.countDown();
+            return;
+        }
+        HttpRequest request = requests.get(sequence % requests.size());
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (measuring) {
+                        if (error != null || response.statusCode() >= 400) {
+                            failed.increment();
+                        } else {
+                            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                            histogram.incrementAndGet((int) Math.min(millis, MAX_LATENCY_MILLIS));
+                            completed.increment();
+                        }
+                    }
+                    sendNext(client, requests, sequence + 1, finished);
+                });
+    }
+
+    private long percentile(double quantile) {
+        long total = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            total += histogram.get(i);
+        }
+        long target = Math.max(1, (long) Math.ceil(total * quantile));
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= target) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.contacts.benchmark;
+
+import com.contacts.dto.ContactSummary;
+import com.contacts.entity.Contact;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 联系人列表 JSON 序列化的基准测试
+ * ObjectMapper 与 Spring Boot 默认配置一致（注册 JavaTimeModule，日期不输出为时间戳）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<Contact> contacts;
+
+    private List<ContactSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        contacts = BenchmarkData.contacts(size);
+        summaries = contacts.stream().map(ContactSummary::from).toList();
+    }
+
+    /**
+     * 完整联系人列表（GET /api/contacts?full=true）
+     */
+    @Benchmark
+    public byte[] serializeContacts() throws Exception {
+        return objectMapper.writeValueAsBytes(contacts);
+    }
+
+    /**
+     * 列表项投影（GET /api/contacts 默认返回）
+     */
+    @Benchmark
+    public byte[] serializeSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
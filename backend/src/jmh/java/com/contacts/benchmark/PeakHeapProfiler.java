@@ -0,0 +1,99 @@
+package com.contacts.benchmark;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 记录每轮迭代中堆占用峰值的 JMH 分析器，结果为 peakHeap（MB，多轮取最大值）
+ * 每次 GC 后累计各堆内存池的占用，取本轮最大值减去迭代开始前 Full GC 后的占用，
+ * 即基准操作自身保持存活的内存；提前晋升到老年代的垃圾也会计入，数值偏向上限。
+ * 只在分叉 JVM 带有 -Dcontacts.benchmark.peakHeap=true 时生效，需要配合较小的新生代使 GC 足够频繁
+ */
+public class PeakHeapProfiler implements InternalProfiler {
+
+    static final String ENABLED_PROPERTY = "contacts.benchmark.peakHeap";
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    private final boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private final Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .map(MemoryPoolMXBean::getName)
+            .collect(Collectors.toSet());
+
+    private final AtomicLong peak = new AtomicLong();
+
+    private final NotificationListener listener = this::onGarbageCollection;
+
+    private long baseline;
+
+    @Override
+    public String getDescription() {
+        return "每轮迭代 GC 后堆占用的峰值";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        if (!enabled) {
+            return;
+        }
+        System.gc();
+        baseline = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        peak.set(baseline);
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener(listener, null, null);
+        }
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                      IterationResult result) {
+        if (!enabled) {
+            return List.of();
+        }
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            try {
+                ((NotificationEmitter) collector).removeNotificationListener(listener);
+            } catch (Exception ignored) {
+                // 监听器已移除
+            }
+        }
+        return List.of(new ScalarResult("peakHeap", (peak.get() - baseline) / MB, "MB", AggregationPolicy.MAX));
+    }
+
+    private void onGarbageCollection(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        Map<String, MemoryUsage> afterGc = GarbageCollectionNotificationInfo
+                .from((CompositeData) notification.getUserData()).getGcInfo().getMemoryUsageAfterGc();
+        long used = afterGc.entrySet().stream()
+                .filter(entry -> heapPools.contains(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().getUsed())
+                .sum();
+        peak.accumulateAndGet(used, Math::max);
+    }
+}
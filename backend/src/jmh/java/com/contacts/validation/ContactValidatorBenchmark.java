@@ -0,0 +1,129 @@
+package com.contacts.validation;
+
+import com.contacts.benchmark.BenchmarkData;
+import com.contacts.entity.Contact;
+import com.contacts.exception.ValidationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 联系人校验的基准测试
+ * 与 ContactValidator 同包，以便单独测量各个格式检查；legacy* 为改写前基于 String.matches 的实现
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactValidatorBenchmark {
+
+    private ContactValidator validator;
+
+    private LegacyContactValidator legacyValidator;
+
+    private Contact validContact;
+
+    private Contact invalidContact;
+
+    // 输入放在状态字段中，避免 JIT 对常量输入做常量折叠
+    private String mobile = "13800138000";
+    private String landline = "0591-22866114";
+    private String emailAddress = "someone.name@example.com.cn";
+    private String qqNumber = "123456789";
+
+    @Setup
+    public void setUp() {
+        validator = new ContactValidator();
+        legacyValidator = new LegacyContactValidator();
+        validContact = BenchmarkData.contact(42);
+        invalidContact = BenchmarkData.contact(43);
+        invalidContact.setEmail("not-an-email");
+    }
+
+    /**
+     * 字段齐全的合法联系人（校验后字段不变，可以重复使用同一个对象）
+     */
+    @Benchmark
+    public Contact validateValidContact() {
+        validator.validate(validContact);
+        return validContact;
+    }
+
+    @Benchmark
+    public Contact legacyValidateValidContact() {
+        legacyValidator.validate(validContact);
+        return validContact;
+    }
+
+    /**
+     * 邮箱不合法：批量创建和导入使用 check 收集错误，不创建异常
+     */
+    @Benchmark
+    public Object checkInvalidContact() {
+        return validator.check(invalidContact);
+    }
+
+    @Benchmark
+    public String legacyValidateInvalidContact() {
+        try {
+            legacyValidator.validate(invalidContact);
+            return null;
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public boolean mobilePhone() {
+        return validator.isValidPhoneNumber(mobile);
+    }
+
+    @Benchmark
+    public boolean legacyMobilePhone() {
+        return legacyValidator.isValidPhoneNumber(mobile);
+    }
+
+    /**
+     * 座机号：改写前要依次尝试手机号和座机号两个正则
+     */
+    @Benchmark
+    public boolean landlinePhone() {
+        return validator.isValidPhoneNumber(landline);
+    }
+
+    @Benchmark
+    public boolean legacyLandlinePhone() {
+        return legacyValidator.isValidPhoneNumber(landline);
+    }
+
+    @Benchmark
+    public boolean email() {
+        return validator.isValidEmail(emailAddress);
+    }
+
+    @Benchmark
+    public boolean legacyEmail() {
+        return legacyValidator.isValidEmail(emailAddress);
+    }
+
+    @Benchmark
+    public boolean qq() {
+        return validator.isValidQQ(qqNumber);
+    }
+
+    @Benchmark
+    public boolean legacyQq() {
+        return legacyValidator.isValidQQ(qqNumber);
+    }
+}
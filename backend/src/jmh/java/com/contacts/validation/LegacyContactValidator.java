@@ -0,0 +1,140 @@
+package com.contacts.validation;
+
+import com.contacts.entity.Contact;
+import com.contacts.exception.ValidationException;
+
+/**
+ * 改写前的联系人校验实现（每次调用 String.matches 编译正则，遇到第一个错误即抛出异常），
+ * 仅作为 ContactValidatorBenchmark 的对照
+ */
+class LegacyContactValidator {
+
+    /**
+     * 验证联系人信息的有效性
+     * @param contact 联系人对象
+     */
+    public void validate(Contact contact) {
+        if (contact == null) {
+            throw new ValidationException("联系人信息不能为空");
+        }
+
+        // 验证姓名
+        if (contact.getName() == null || contact.getName().trim().isEmpty()) {
+            throw new ValidationException("联系人姓名不能为空");
+        }
+        String name = contact.getName().trim();
+        if (name.length() > 100) {
+            throw new ValidationException("联系人姓名长度不能超过100个字符");
+        }
+        contact.setName(name); // 去除前后空格
+
+        // 验证电话
+        if (contact.getPhone() == null || contact.getPhone().trim().isEmpty()) {
+            throw new ValidationException("联系人电话不能为空");
+        }
+
+        String phone = contact.getPhone().trim();
+        // 简单的电话格式验证：支持手机号和座机号
+        if (!isValidPhoneNumber(phone)) {
+            throw new ValidationException("电话号码格式不正确");
+        }
+        contact.setPhone(phone); // 去除前后空格
+
+        // 验证邮箱（如果提供了邮箱）
+        if (contact.getEmail() != null && !contact.getEmail().trim().isEmpty()) {
+            String email = contact.getEmail().trim();
+            if (!isValidEmail(email)) {
+                throw new ValidationException("邮箱格式不正确");
+            }
+            contact.setEmail(email); // 去除前后空格
+        } else {
+            contact.setEmail(null); // 确保空字符串转为null
+        }
+
+        // 验证微信账号
+        if (contact.getWechat() != null && !contact.getWechat().trim().isEmpty()) {
+            String wechat = contact.getWechat().trim();
+            if (wechat.length() > 50) {
+                throw new ValidationException("微信账号长度不能超过50个字符");
+            }
+            contact.setWechat(wechat);
+        } else {
+            contact.setWechat(null);
+        }
+
+        // 验证QQ账号
+        if (contact.getQq() != null && !contact.getQq().trim().isEmpty()) {
+            String qq = contact.getQq().trim();
+            if (!isValidQQ(qq)) {
+                throw new ValidationException("QQ账号格式不正确");
+            }
+            if (qq.length() > 20) {
+                throw new ValidationException("QQ账号长度不能超过20个字符");
+            }
+            contact.setQq(qq);
+        } else {
+            contact.setQq(null);
+        }
+
+        // 验证地址长度
+        if (contact.getAddress() != null) {
+            String address = contact.getAddress().trim();
+            if (address.length() > 200) {
+                throw new ValidationException("地址长度不能超过200个字符");
+            }
+            contact.setAddress(address.isEmpty() ? null : address); // 去除前后空格，空字符串转为null
+        }
+
+        // 验证公司名称长度
+        if (contact.getCompany() != null) {
+            String company = contact.getCompany().trim();
+            if (company.length() > 100) {
+                throw new ValidationException("公司名称长度不能超过100个字符");
+            }
+            contact.setCompany(company.isEmpty() ? null : company); // 去除前后空格，空字符串转为null
+        }
+
+        // 验证收藏状态（确保不为null）
+        if (contact.getBookmarked() == null) {
+            contact.setBookmarked(false);
+        }
+    }
+
+    /**
+     * 验证电话号码格式
+     * @param phone 电话号码
+     * @return 是否有效
+     */
+    boolean isValidPhoneNumber(String phone) {
+        // 手机号：1开头，11位数字
+        String mobileRegex = "^1[3-9]\\d{9}$";
+        // 座机号：区号-号码，如 010-12345678 或 010-1234567
+        String landlineRegex = "^\\d{3,4}-\\d{7,8}$";
+        // 简单数字验证（宽松模式）
+        String simpleRegex = "^\\d{5,20}$";
+
+        return phone.matches(mobileRegex) || phone.matches(landlineRegex) || phone.matches(simpleRegex);
+    }
+
+    /**
+     * 验证邮箱格式
+     * @param email 邮箱地址
+     * @return 是否有效
+     */
+    boolean isValidEmail(String email) {
+        // 简单的邮箱格式验证
+        String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
+        return email.matches(emailRegex);
+    }
+
+    /**
+     * 验证QQ账号格式
+     * @param qq QQ账号
+     * @return 是否有效
+     */
+    boolean isValidQQ(String qq) {
+        // QQ号规则：5-11位数字，不能以0开头
+        String qqRegex = "^[1-9][0-9]{4,10}$";
+        return qq.matches(qqRegex);
+    }
+}
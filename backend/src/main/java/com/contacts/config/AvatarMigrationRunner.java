@@ -0,0 +1,31 @@
+package com.contacts.config;
+
+import com.contacts.service.AvatarService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 启动时将旧版内联在 contacts.avatar 列中的 base64 头像迁移到头像存储
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "contacts.avatar.migrate-inline", havingValue = "true", matchIfMissing = true)
+public class AvatarMigrationRunner implements ApplicationRunner {
+
+    private final AvatarService avatarService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            avatarService.migrateInlineAvatars();
+        } catch (Exception e) {
+            // 迁移失败不影响启动，旧头像仍可通过 /api/contacts/{id}/avatar 读取
+            log.error("迁移内联头像失败", e);
+        }
+    }
+}
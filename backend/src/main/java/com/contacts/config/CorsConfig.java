@@ -20,6 +20,8 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
                 .allowCredentials(true)
+                // 前端读取 ETag 后在更新时通过 If-Match 提交
+                .exposedHeaders("ETag")
                 .maxAge(3600);
     }
 
@@ -35,6 +37,7 @@ public class CorsConfig implements WebMvcConfigurer {
         // 添加额外的头
         configuration.addExposedHeader("Access-Control-Allow-Origin");
         configuration.addExposedHeader("Access-Control-Allow-Credentials");
+        configuration.addExposedHeader("ETag");
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/api/**", configuration);
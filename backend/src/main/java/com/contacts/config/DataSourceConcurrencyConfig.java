@@ -0,0 +1,63 @@
+package com.contacts.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 数据库并发限制
+ * contacts.datasource.max-concurrent-connections 大于0时（virtual profile 中等于连接池大小），
+ * 用 ConnectionLimitingDataSource 包装应用的 DataSource，并把借出、等待的连接数注册为指标
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("${contacts.datasource.max-concurrent-connections:0} > 0")
+public class DataSourceConcurrencyConfig {
+
+    /**
+     * BeanPostProcessor 需要在其他 Bean 之前创建，声明为 static 并直接从 Environment 读取配置
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        int maxConnections = environment.getRequiredProperty("contacts.datasource.max-concurrent-connections", Integer.class);
+        Duration acquireTimeout = environment.getProperty("contacts.datasource.acquire-timeout", Duration.class,
+                Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    log.info("限制同时借出的数据库连接数: {}，等待超时: {}（{}）", maxConnections, acquireTimeout, beanName);
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * contacts.datasource.connections.active / waiting，与连接池自身的 hikaricp.connections.* 指标对照
+     */
+    @Bean
+    public MeterBinder connectionLimitingDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limiting) {
+                Gauge.builder("contacts.datasource.connections.active", limiting,
+                                ConnectionLimitingDataSource::getActiveConnections)
+                        .description("已取得许可（借出）的连接数")
+                        .register(registry);
+                Gauge.builder("contacts.datasource.connections.waiting", limiting,
+                                ConnectionLimitingDataSource::getWaitingThreads)
+                        .description("等待许可的线程数")
+                        .register(registry);
+            }
+        };
+    }
+}
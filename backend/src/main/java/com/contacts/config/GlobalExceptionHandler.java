@@ -3,6 +3,8 @@ package com.contacts.config;
 import com.contacts.exception.BusinessException;
 import com.contacts.exception.ContactNotFoundException;
 import com.contacts.exception.DuplicatePhoneException;
+import com.contacts.exception.PreconditionFailedException;
+import com.contacts.exception.SyncTokenExpiredException;
 import com.contacts.exception.ValidationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -79,6 +81,42 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    /**
+     * 处理前置条件不满足异常（If-Match 不匹配）
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        log.warn("前置条件不满足: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .error("Precondition Failed")
+                .message(ex.getMessage())
+                .path(getRequestPath(request))
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * 处理同步令牌过期异常
+     */
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleSyncTokenExpiredException(SyncTokenExpiredException ex, WebRequest request) {
+        log.info("同步令牌已过期: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.GONE.value())
+                .error("Gone")
+                .message(ex.getMessage())
+                .path(getRequestPath(request))
+                .build();
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.GONE);
+    }
+
     /**
      * 处理参数验证异常
      */
@@ -91,6 +129,7 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST.value())
                 .error("Validation Error")
                 .message(ex.getMessage())
+                .details(ex.getFieldErrors().isEmpty() ? null : ex.getFieldErrors())
                 .path(getRequestPath(request))
                 .build();
 
@@ -0,0 +1,34 @@
+package com.contacts.config;
+
+import com.contacts.metrics.SqlStatementCounter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate 的 SQL 语句计数和统计指标
+ * 语句计数始终开启；Hibernate 统计（hibernate.* 指标：查询数、二级缓存、事务、最慢查询等）
+ * 只在 spring.jpa.properties.hibernate.generate_statistics=true 时有数据，dev 默认开启
+ */
+@Configuration
+public class HibernateMetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlStatementCounter);
+    }
+
+    /**
+     * 未开启统计时 HibernateMetrics 不注册任何指标
+     */
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "contacts", Tags.empty());
+    }
+}
@@ -0,0 +1,85 @@
+package com.contacts.controller;
+
+import com.contacts.dto.AvatarUploadResponse;
+import com.contacts.entity.AvatarBlob;
+import com.contacts.exception.ValidationException;
+import com.contacts.service.AvatarService;
+import com.contacts.utils.AvatarUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/avatars")
+@RequiredArgsConstructor
+public class AvatarController {
+
+    // 头像内容由 hash 唯一确定，永不变化，可以被浏览器和 CDN 永久缓存
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+    private final AvatarService avatarService;
+
+    /**
+     * 获取头像图片
+     * 使用 hash 作为强 ETag，客户端带 If-None-Match 时直接返回 304，不读取存储
+     */
+    @GetMapping("/{hash}")
+    public ResponseEntity<byte[]> getAvatar(@PathVariable String hash, WebRequest request) {
+        if (!AvatarUtil.isValidHash(hash)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String etag = "\"" + hash + "\"";
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(IMMUTABLE).build();
+        }
+
+        try {
+            Optional<AvatarBlob> blob = avatarService.find(hash);
+            Optional<byte[]> content = blob.flatMap(avatarService::readContent);
+            if (content.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(blob.get().getContentType()))
+                    .contentLength(content.get().length)
+                    .eTag(etag)
+                    .cacheControl(IMMUTABLE)
+                    .body(content.get());
+        } catch (Exception e) {
+            log.error("获取头像失败，hash: {}", hash, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * 上传头像图片（multipart 二进制，字段名 file）
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<AvatarUploadResponse> uploadAvatar(@RequestParam("file") MultipartFile file) {
+        try {
+            AvatarBlob blob = avatarService.store(file.getBytes(), file.getContentType());
+            String url = AvatarUtil.urlOf(blob.getHash());
+            return ResponseEntity.created(URI.create(url))
+                    .body(new AvatarUploadResponse(blob.getHash(), url, blob.getContentType(), blob.getSize()));
+        } catch (ValidationException e) {
+            log.warn("上传头像失败: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            log.error("读取上传的头像失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
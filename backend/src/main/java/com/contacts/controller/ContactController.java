@@ -1,21 +1,56 @@
 package com.contacts.controller;
 
+import com.contacts.dto.BatchItemResult;
+import com.contacts.dto.BulkBookmarkRequest;
+import com.contacts.dto.BulkBookmarkResponse;
+import com.contacts.dto.BulkDeleteRequest;
+import com.contacts.dto.BulkDeleteResponse;
+import com.contacts.dto.ImportJobStatus;
 import com.contacts.entity.Contact;
+import com.contacts.event.ContactEventBroadcaster;
+import com.contacts.event.ContactTableVersion;
+import com.contacts.exception.ContactNotFoundException;
+import com.contacts.exception.EventSubscriptionRejectedException;
+import com.contacts.exception.ImportJobRejectedException;
+import com.contacts.exception.PreconditionFailedException;
+import com.contacts.exception.SyncTokenExpiredException;
+import com.contacts.exception.ValidationException;
+import com.contacts.importjob.ImportJob;
+import com.contacts.metrics.TransferMetrics;
 import com.contacts.service.ContactService;
+import com.contacts.service.ContactSyncService;
+import com.contacts.service.ImportJobService;
+import com.contacts.utils.AvatarUtil;
+import com.contacts.utils.ETagUtil;
+import com.contacts.utils.ExcelContactReader;
+import com.contacts.utils.ExcelContactWriter;
 import com.contacts.utils.ExcelUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 @RestController
@@ -23,44 +58,193 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ContactController {
 
+    // NDJSON 流式输出的内容类型及刷新间隔（行数）
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    static final int STREAM_FLUSH_INTERVAL = 100;
+
+    // Excel 导出方式：stream 边读取边写出，memory 在内存中生成后一次性返回
+    static final String EXPORT_MODE_STREAM = "stream";
+    static final String EXPORT_MODE_MEMORY = "memory";
+
+    // 导入方式：create 只新增，号码已存在的记录失败；upsert 按电话号码合并
+    static final String IMPORT_MODE_CREATE = "create";
+    static final String IMPORT_MODE_UPSERT = "upsert";
+
+    // 同步导入时每次批量创建的行数，不超过 contacts.batch.max-items
+    static final int IMPORT_CHUNK_SIZE = 500;
+
     private final ContactService contactService;
 
+    private final ContactSyncService contactSyncService;
+
+    private final ImportJobService importJobService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ContactTableVersion contactTableVersion;
+
+    private final ContactEventBroadcaster contactEventBroadcaster;
+
+    private final TransferMetrics transferMetrics;
+
     /**
      * 获取所有联系人
+     * 默认返回不含头像的列表项，full=true 时返回完整联系人；
+     * 传入 after、limit 或 sort 任一参数时按游标分页返回
      */
     @GetMapping
-    public ResponseEntity<List<Contact>> getAllContacts() {
+    public ResponseEntity<?> getAllContacts(@RequestParam(required = false) String after,
+                                            @RequestParam(required = false) Integer limit,
+                                            @RequestParam(required = false) String sort,
+                                            @RequestParam(defaultValue = "false") boolean full,
+                                            WebRequest request) {
         try {
+            ContactTableVersion.Snapshot version = contactTableVersion.current();
+            if (request.checkNotModified(version.eTag(), version.lastModified())) {
+                return null;
+            }
+            if (after != null || limit != null || sort != null) {
+                return okWithVersion(version).body(full
+                        ? contactService.getContactsPage(sort, after, limit)
+                        : contactService.getContactSummaryPage(sort, after, limit));
+            }
+            if (!full) {
+                return okWithVersion(version).body(contactService.getAllContactSummaries());
+            }
             List<Contact> contacts = contactService.getAllContacts();
-            return ResponseEntity.ok(contacts);
+            return okWithVersion(version).body(contacts);
+        } catch (ValidationException e) {
+            log.warn("分页参数无效: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             log.error("获取联系人列表失败", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * 以 NDJSON 格式流式导出所有联系人（每行一个JSON对象）
+     * 边读取边序列化写出，不在内存中构建完整列表，适用于同步任务和备份
+     */
+    @GetMapping(value = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamContacts() {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                long[] written = {0};
+                long count = contactService.streamAllContacts(contact -> {
+                    try {
+                        writer.writeValue(generator, contact);
+                        generator.writeRaw('\n');
+                        // 每写出一批即刷新到客户端，避免在缓冲区中堆积
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.flush();
+                log.info("流式导出联系人完成，共 {} 个", count);
+            } catch (UncheckedIOException e) {
+                log.warn("流式导出联系人中断: {}", e.getMessage());
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
+    }
+
     /**
      * 获取收藏的联系人
+     * 默认返回列表项，full=true 时返回完整联系人
      */
     @GetMapping("/bookmarked")
-    public ResponseEntity<List<Contact>> getBookmarkedContacts() {
+    public ResponseEntity<?> getBookmarkedContacts(@RequestParam(defaultValue = "false") boolean full,
+                                                   WebRequest request) {
         try {
+            ContactTableVersion.Snapshot version = contactTableVersion.current();
+            if (request.checkNotModified(version.eTag(), version.lastModified())) {
+                return null;
+            }
+            if (!full) {
+                return okWithVersion(version).body(contactService.getBookmarkedContactSummaries());
+            }
             List<Contact> contacts = contactService.getBookmarkedContacts();
-            return ResponseEntity.ok(contacts);
+            return okWithVersion(version).body(contacts);
         } catch (Exception e) {
             log.error("获取收藏联系人列表失败", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * 增量同步：返回 since 令牌之后新增、修改的联系人和已删除的联系人ID
+     * 首次同步不传 since；hasMore 为 true 时用 nextToken 继续获取，否则保存 nextToken 供下次同步使用。
+     * 返回的变更可能与上一次重复，客户端按ID覆盖即可；令牌过期时返回 410，需要重新全量同步
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(@RequestParam(required = false) String since,
+                                        @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .body(contactSyncService.getChanges(since, limit));
+        } catch (SyncTokenExpiredException e) {
+            log.info("同步令牌已过期: {}", since);
+            return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+        } catch (ValidationException e) {
+            log.warn("同步参数无效: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("获取联系人变更失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * 联系人变更推送（Server-Sent Events）
+     * 每次变更提交后推送 contact 事件（类型和联系人ID）；收到 reset 事件时客户端应重新加载列表。
+     * 浏览器断线重连时自动带上 Last-Event-ID，缓冲区内的事件会补发。
+     * overflow 为客户端处理不及时、队列已满时的策略：drop-oldest（默认）或 disconnect
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamEvents(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                          @RequestParam(required = false) String overflow) {
+        try {
+            SseEmitter emitter = contactEventBroadcaster.subscribe(lastEventId,
+                    ContactEventBroadcaster.OverflowPolicy.fromParam(overflow));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    // 禁止 Nginx 等反向代理缓冲事件流
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (EventSubscriptionRejectedException e) {
+            log.warn(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (ValidationException e) {
+            log.warn("订阅参数无效: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 根据ID获取联系人
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Contact> getContactById(@PathVariable Long id) {
+    public ResponseEntity<Contact> getContactById(@PathVariable Long id, WebRequest request) {
         try {
+            // 先只读取更新时间，未修改时直接返回 304，不加载联系人也不序列化
+            Optional<LocalDateTime> updatedTime = contactService.getContactUpdatedTime(id);
+            if (updatedTime.isPresent()
+                    && request.checkNotModified(ETagUtil.of(id, updatedTime.get()), toEpochMilli(updatedTime.get()))) {
+                return null;
+            }
             Contact contact = contactService.getContactById(id);
-            return ResponseEntity.ok(contact);
+            return okWithETag(contact).body(contact);
         } catch (RuntimeException e) {
             log.error("获取联系人失败，ID: {}", id, e);
             return ResponseEntity.notFound().build();
@@ -70,6 +254,34 @@ public class ContactController {
         }
     }
 
+    /**
+     * 获取联系人头像图片
+     * 已转存的头像重定向到可长期缓存的 /api/avatars/{hash}，尚未迁移的旧数据直接返回图片
+     */
+    @GetMapping("/{id}/avatar")
+    public ResponseEntity<byte[]> getContactAvatar(@PathVariable Long id) {
+        try {
+            String avatar = contactService.getContactAvatar(id);
+            if (!AvatarUtil.isDataUrl(avatar)) {
+                return ResponseEntity.status(HttpStatus.FOUND)
+                        .location(URI.create(avatar))
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
+            AvatarUtil.DecodedImage image = AvatarUtil.decodeDataUrl(avatar);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(image.getContentType()))
+                    .cacheControl(CacheControl.noCache())
+                    .body(image.getBytes());
+        } catch (ContactNotFoundException | ValidationException e) {
+            log.warn("获取联系人头像失败: {}", e.getMessage());
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("获取联系人头像失败，ID: {}", id, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * 创建联系人
      */
@@ -87,14 +299,40 @@ public class ContactController {
         }
     }
 
+    /**
+     * 批量创建联系人
+     * 返回与请求数组一一对应的处理结果，失败的记录不影响其他记录；
+     * mode=upsert 时按电话号码合并，返回新增、更新、未变化的数量
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createContacts(@RequestBody List<Contact> contacts,
+                                            @RequestParam(defaultValue = IMPORT_MODE_CREATE) String mode) {
+        try {
+            if (IMPORT_MODE_UPSERT.equals(mode)) {
+                return ResponseEntity.ok(contactService.upsertContacts(contacts));
+            }
+            return ResponseEntity.ok(contactService.createContacts(contacts));
+        } catch (RuntimeException e) {
+            log.error("批量创建联系人失败", e);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("批量创建联系人失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * 更新联系人
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Contact> updateContact(@PathVariable Long id, @RequestBody Contact contact) {
+    public ResponseEntity<Contact> updateContact(@PathVariable Long id, @RequestBody Contact contact,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Contact updatedContact = contactService.updateContact(id, contact);
-            return ResponseEntity.ok(updatedContact);
+            Contact updatedContact = contactService.updateContact(id, contact, ifMatch);
+            return okWithETag(updatedContact).body(updatedContact);
+        } catch (PreconditionFailedException e) {
+            log.warn("更新联系人失败，联系人已被修改，ID: {}", id);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
         } catch (RuntimeException e) {
             log.error("更新联系人失败，ID: {}", id, e);
             return ResponseEntity.notFound().build();
@@ -121,20 +359,64 @@ public class ContactController {
         }
     }
 
+    /**
+     * 批量删除联系人
+     * 请求体：{"ids": [1, 2, 3]}，返回实际删除的数量
+     */
+    @DeleteMapping
+    public ResponseEntity<BulkDeleteResponse> deleteContacts(@RequestBody BulkDeleteRequest request) {
+        try {
+            return ResponseEntity.ok(contactService.deleteContacts(request.getIds()));
+        } catch (RuntimeException e) {
+            log.error("批量删除联系人失败", e);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("批量删除联系人失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * 搜索联系人
+     * 默认返回列表项，full=true 时返回完整联系人
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Contact>> searchContacts(@RequestParam(required = false) String keyword) {
+    public ResponseEntity<?> searchContacts(@RequestParam(required = false) String keyword,
+                                            @RequestParam(defaultValue = "false") boolean full,
+                                            WebRequest request) {
         try {
+            ContactTableVersion.Snapshot version = contactTableVersion.current();
+            if (request.checkNotModified(version.eTag(), version.lastModified())) {
+                return null;
+            }
+            if (!full) {
+                return okWithVersion(version).body(contactService.searchContactSummaries(keyword));
+            }
             List<Contact> contacts = contactService.searchContacts(keyword);
-            return ResponseEntity.ok(contacts);
+            return okWithVersion(version).body(contacts);
         } catch (Exception e) {
             log.error("搜索联系人失败，关键词: {}", keyword, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * 批量收藏或取消收藏
+     * 请求体：{"ids": [1, 2, 3], "bookmarked": true}
+     */
+    @PutMapping("/bookmark")
+    public ResponseEntity<BulkBookmarkResponse> setBookmarked(@RequestBody BulkBookmarkRequest request) {
+        try {
+            return ResponseEntity.ok(contactService.setBookmarked(request.getIds(), request.getBookmarked()));
+        } catch (RuntimeException e) {
+            log.error("批量收藏联系人失败", e);
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("批量收藏联系人失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * 收藏联系人
      */
@@ -186,8 +468,40 @@ public class ContactController {
         }
     }
 
+    /**
+     * 导出所有联系人到Excel
+     * 默认从数据库流式读取并用 SXSSF 写出，内存中只保留少量行；mode=memory 时使用原有的内存方式
+     */
     @GetMapping("/export/excel")
-    public ResponseEntity<byte[]> exportToExcel() {
+    public ResponseEntity<StreamingResponseBody> exportToExcel(@RequestParam(defaultValue = EXPORT_MODE_STREAM) String mode) {
+        if (EXPORT_MODE_MEMORY.equals(mode)) {
+            return exportToExcelInMemory();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try (ExcelContactWriter writer = new ExcelContactWriter()) {
+                long count = contactService.streamAllContacts(writer::write);
+                writer.finish(outputStream);
+                outputStream.flush();
+                transferMetrics.recordExport(TransferMetrics.EXPORT_STREAM, count);
+                log.info("流式导出Excel完成，共 {} 个联系人", count);
+            } catch (IOException | RuntimeException e) {
+                transferMetrics.recordExportError(TransferMetrics.EXPORT_STREAM);
+                throw e;
+            }
+        };
+
+        // 不设置 Content-Length，由容器以分块传输编码写出
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", exportFilename());
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * 在内存中生成完整的 Excel 后一次性返回（原有方式）
+     */
+    private ResponseEntity<StreamingResponseBody> exportToExcelInMemory() {
         try {
             List<Contact> contacts = contactService.getAllContacts();
 
@@ -197,28 +511,74 @@ public class ContactController {
 
             byte[] excelBytes = ExcelUtil.exportToExcel(contacts);
 
-            String filename = "contacts_" +
-                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) +
-                    ".xlsx";
-
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-            headers.setContentDispositionFormData("attachment", filename);
+            headers.setContentDispositionFormData("attachment", exportFilename());
             headers.setContentLength(excelBytes.length);
+            transferMetrics.recordExport(TransferMetrics.EXPORT_MEMORY, contacts.size());
 
-            return new ResponseEntity<>(excelBytes, headers, HttpStatus.OK);
+            return new ResponseEntity<>(outputStream -> outputStream.write(excelBytes), headers, HttpStatus.OK);
 
         } catch (IOException e) {
             log.error("导出Excel失败", e);
+            transferMetrics.recordExportError(TransferMetrics.EXPORT_MEMORY);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    private static String exportFilename() {
+        return "contacts_" +
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) +
+                ".xlsx";
+    }
+
+    /**
+     * 提交异步 Excel 导入任务
+     * 立即返回 202 和任务状态，通过 Location 中的地址查询进度；mode=upsert 时按电话号码合并
+     */
+    @PostMapping("/import/jobs")
+    public ResponseEntity<?> submitImportJob(@RequestParam("file") MultipartFile file,
+                                             @RequestParam(defaultValue = IMPORT_MODE_CREATE) String mode) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("文件不能为空");
+        }
+        String filename = file.getOriginalFilename();
+        if (filename == null || !filename.endsWith(".xlsx")) {
+            return ResponseEntity.badRequest().body("只支持Excel文件 (.xlsx)");
+        }
+
+        try {
+            ImportJobStatus status = importJobService.submitExcelImport(file,
+                    IMPORT_MODE_UPSERT.equals(mode) ? ImportJob.Mode.UPSERT : ImportJob.Mode.CREATE);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/contacts/import/jobs/" + status.getId()))
+                    .body(status);
+        } catch (ImportJobRejectedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+        } catch (IOException e) {
+            log.error("保存导入文件失败", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("导入失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 查询导入任务的进度、速度和错误明细
+     */
+    @GetMapping("/import/jobs/{id}")
+    public ResponseEntity<ImportJobStatus> getImportJob(@PathVariable String id) {
+        return importJobService.getJobStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * 从Excel导入联系人
+     * mode=upsert 时按电话号码合并：新增不存在的号码，更新有变化的联系人
      */
     @PostMapping("/import/excel")
-    public ResponseEntity<String> importFromExcel(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<String> importFromExcel(@RequestParam("file") MultipartFile file,
+                                                  @RequestParam(defaultValue = IMPORT_MODE_CREATE) String mode) {
         try {
             if (file.isEmpty()) {
                 return ResponseEntity.badRequest().body("文件不能为空");
@@ -230,48 +590,139 @@ public class ContactController {
                 return ResponseEntity.badRequest().body("只支持Excel文件 (.xlsx, .xls)");
             }
 
-            List<Contact> contacts = ExcelUtil.importFromExcel(file);
-
-            if (contacts.isEmpty()) {
-                return ResponseEntity.badRequest().body("Excel文件中没有有效的联系人数据");
-            }
-
-            int successCount = 0;
-            int errorCount = 0;
-            StringBuilder errors = new StringBuilder();
+            boolean upsert = IMPORT_MODE_UPSERT.equals(mode);
+            ImportSummary summary = new ImportSummary();
+            List<Contact> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+            List<Integer> rowNumbers = new ArrayList<>(IMPORT_CHUNK_SIZE);
 
-            for (int i = 0; i < contacts.size(); i++) {
-                Contact contact = contacts.get(i);
-                try {
-                    contactService.createContact(contact);
-                    successCount++;
-                } catch (Exception e) {
-                    errorCount++;
-                    errors.append("第").append(i + 2).append("行: ")
-                            .append(contact.getName()).append(" - ")
-                            .append(e.getMessage()).append("\n");
+            // 逐行读取，按块批量创建：每块的号码去重只需一次批量查询
+            int total = ExcelContactReader.read(file, (contact, rowNumber) -> {
+                chunk.add(contact);
+                rowNumbers.add(rowNumber);
+                if (chunk.size() == IMPORT_CHUNK_SIZE) {
+                    importChunk(chunk, rowNumbers, upsert, summary);
                 }
+            });
+            importChunk(chunk, rowNumbers, upsert, summary);
+            transferMetrics.recordImport(TransferMetrics.IMPORT_EXCEL,
+                    summary.inserted, summary.updated, summary.unchanged, 0, 0, summary.failed);
+
+            if (total == 0) {
+                return ResponseEntity.badRequest().body("Excel文件中没有有效的联系人数据");
             }
 
-            String message = String.format(
-                    "导入完成！成功导入 %d 个联系人，失败 %d 个",
-                    successCount, errorCount
-            );
+            String message = upsert
+                    ? String.format("导入完成！新增 %d 个联系人，更新 %d 个，未变化 %d 个，失败 %d 个",
+                            summary.inserted, summary.updated, summary.unchanged, summary.failed)
+                    : String.format("导入完成！成功导入 %d 个联系人，失败 %d 个",
+                            summary.inserted, summary.failed);
 
-            if (errorCount > 0) {
-                message += "\n\n错误详情:\n" + errors.toString();
+            if (summary.failed > 0) {
+                message += "\n\n错误详情:\n" + summary.errors.toString();
             }
 
             return ResponseEntity.ok(message);
 
         } catch (IOException e) {
             log.error("导入Excel失败", e);
+            transferMetrics.recordImportError(TransferMetrics.IMPORT_EXCEL);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("导入失败: " + e.getMessage());
         } catch (Exception e) {
             log.error("处理Excel文件失败", e);
+            transferMetrics.recordImportError(TransferMetrics.IMPORT_EXCEL);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("处理文件失败: " + e.getMessage());
         }
     }
+
+    /**
+     * 批量创建（或合并）一块导入的联系人并汇总结果，处理后清空该块
+     * 整块失败（如号码被并发写入）时逐个处理，以便定位出错的行
+     */
+    private void importChunk(List<Contact> chunk, List<Integer> rowNumbers, boolean upsert, ImportSummary summary) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<BatchItemResult> items = upsert
+                    ? contactService.upsertContacts(chunk).getItems()
+                    : contactService.createContacts(chunk).getItems();
+            for (BatchItemResult item : items) {
+                summary.add(item, rowNumbers.get(item.getIndex()), chunk.get(item.getIndex()));
+            }
+        } catch (Exception e) {
+            log.warn("批量导入失败，逐个处理: {}", e.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    if (upsert) {
+                        BatchItemResult item = contactService.upsertContacts(List.of(chunk.get(i))).getItems().get(0);
+                        summary.add(item, rowNumbers.get(i), chunk.get(i));
+                    } else {
+                        contactService.createContact(chunk.get(i));
+                        summary.inserted++;
+                    }
+                } catch (Exception ex) {
+                    summary.fail(rowNumbers.get(i), chunk.get(i), ex.getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        rowNumbers.clear();
+    }
+
+    /**
+     * 同步导入的结果汇总
+     */
+    private static class ImportSummary {
+
+        private int inserted;
+        private int updated;
+        private int unchanged;
+        private int failed;
+        private final StringBuilder errors = new StringBuilder();
+
+        void add(BatchItemResult item, int rowNumber, Contact contact) {
+            switch (item.getStatus()) {
+                case CREATED -> inserted++;
+                case UPDATED -> updated++;
+                case UNCHANGED -> unchanged++;
+                default -> fail(rowNumber, contact, item.getMessage());
+            }
+        }
+
+        void fail(int rowNumber, Contact contact, String message) {
+            failed++;
+            errors.append("第").append(rowNumber).append("行: ")
+                    .append(contact.getName()).append(" - ")
+                    .append(message).append("\n");
+        }
+    }
+
+    /**
+     * 列表响应：带表版本号生成的 ETag 和 Last-Modified，要求客户端每次使用前重新验证
+     */
+    private static ResponseEntity.BodyBuilder okWithVersion(ContactTableVersion.Snapshot version) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(version.eTag())
+                .lastModified(version.lastModified());
+    }
+
+    /**
+     * 单个联系人响应：带 ETag 和 Last-Modified，ETag 可用于更新时的 If-Match
+     */
+    private static ResponseEntity.BodyBuilder okWithETag(Contact contact) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(ETagUtil.of(contact));
+        if (contact.getUpdatedTime() != null) {
+            builder.lastModified(toEpochMilli(contact.getUpdatedTime()));
+        }
+        return builder;
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
@@ -0,0 +1,43 @@
+package com.contacts.controller;
+
+import com.contacts.dto.ContactCacheStats;
+import com.contacts.dto.ContactEventStats;
+import com.contacts.event.ContactEventBroadcaster;
+import com.contacts.service.impl.CachingContactService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 运行指标接口
+ */
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ContactEventBroadcaster contactEventBroadcaster;
+
+    // 只有 contacts.cache.enabled=true 时存在
+    private final ObjectProvider<CachingContactService> cachingContactService;
+
+    /**
+     * 联系人详情缓存的命中率和淘汰次数，未启用缓存时 enabled 为 false
+     */
+    @GetMapping("/contact-cache")
+    public ResponseEntity<ContactCacheStats> getContactCacheStats() {
+        CachingContactService cache = cachingContactService.getIfAvailable();
+        return ResponseEntity.ok(cache != null ? cache.getStats() : ContactCacheStats.builder().enabled(false).build());
+    }
+
+    /**
+     * 变更推送的订阅数及因客户端处理不及时丢弃的事件数
+     */
+    @GetMapping("/contact-events")
+    public ResponseEntity<ContactEventStats> getContactEventStats() {
+        return ResponseEntity.ok(contactEventBroadcaster.getStats());
+    }
+}
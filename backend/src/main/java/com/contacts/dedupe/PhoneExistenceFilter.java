@@ -0,0 +1,232 @@
+package com.contacts.dedupe;
+
+import com.contacts.event.ContactChangedEvent;
+import com.contacts.repository.ContactRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * 电话号码存在性过滤器
+ * 启动完成后用 contacts.phone 构建布隆过滤器，之后随 ContactChangedEvent 加入新号码。
+ * 过滤器判定一定不存在的号码直接跳过数据库查询，可能存在时再查询数据库确认。
+ * 布隆过滤器不支持删除，删除联系人或修改号码只会让误判率略微上升；插入数量超过容量时在后台重建。
+ * 未提交事务中加入的号码即使回滚也只会造成误判，不影响正确性；
+ * 重建与写入之间极小的时间窗口由 uk_contacts_phone 唯一约束兜底。
+ * 运行指标以 contacts.phone.filter.* 注册到 Micrometer
+ */
+@Slf4j
+@Component
+public class PhoneExistenceFilter implements MeterBinder {
+
+    // 目标误判率
+    static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // 最小容量，以及容量相对于当前号码数量的倍数（为新增号码留出空间）
+    static final long MIN_CAPACITY = 10_000;
+    static final int CAPACITY_FACTOR = 2;
+
+    private final ContactRepository contactRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TaskExecutor taskExecutor;
+
+    private volatile BloomFilter filter;
+
+    private volatile long capacity;
+
+    private volatile boolean ready;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // 重建期间新增的号码，重建完成后补入新过滤器
+    private final Queue<String> pendingPhones = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder skippedQueries = new LongAdder();
+    private final LongAdder confirmedHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public PhoneExistenceFilter(ContactRepository contactRepository, PlatformTransactionManager transactionManager,
+                                @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.contactRepository = contactRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.taskExecutor = taskExecutor;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 检查号码是否存在
+     * @param phone 电话号码
+     * @param query 过滤器判定可能存在时执行的数据库查询
+     * @return 号码是否存在
+     */
+    public boolean exists(String phone, BooleanSupplier query) {
+        BloomFilter current = filter;
+        if (!ready || current == null || phone == null) {
+            return query.getAsBoolean();
+        }
+
+        lookups.increment();
+        if (!current.mightContain(phone)) {
+            skippedQueries.increment();
+            return false;
+        }
+
+        boolean exists = query.getAsBoolean();
+        (exists ? confirmedHits : falsePositives).increment();
+        return exists;
+    }
+
+    /**
+     * 批量检查号码是否存在
+     * @param phones 电话号码
+     * @param query 对过滤器判定可能存在的号码执行一次数据库查询，返回其中已存在的号码
+     * @return 已存在的号码
+     */
+    public Set<String> existing(Collection<String> phones, Function<List<String>, Collection<String>> query) {
+        BloomFilter current = filter;
+        if (!ready || current == null) {
+            return new HashSet<>(query.apply(List.copyOf(phones)));
+        }
+
+        List<String> candidates = phones.stream().filter(current::mightContain).toList();
+        lookups.add(phones.size());
+        skippedQueries.add(phones.size() - candidates.size());
+        if (candidates.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        Set<String> existing = new HashSet<>(query.apply(candidates));
+        confirmedHits.add(existing.size());
+        falsePositives.add(candidates.size() - existing.size());
+        return existing;
+    }
+
+    /**
+     * 从数据库全量构建过滤器
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            long newCapacity = Math.max(MIN_CAPACITY, contactRepository.count() * CAPACITY_FACTOR);
+            BloomFilter newFilter = BloomFilter.create(newCapacity, FALSE_POSITIVE_RATE);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> phones = contactRepository.streamAllPhones()) {
+                    phones.forEach(newFilter::put);
+                }
+            });
+
+            drainPending(newFilter);
+            filter = newFilter;
+            capacity = newCapacity;
+            drainPending(newFilter);
+            ready = true;
+            log.info("电话号码过滤器构建完成，共 {} 个号码，容量 {}，耗时 {} ms",
+                    newFilter.insertions(), newCapacity, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("电话号码过滤器构建失败，号码检查将直接查询数据库", e);
+        } finally {
+            pendingPhones.clear();
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 新增或修改联系人时加入号码
+     */
+    @EventListener
+    public void onContactChanged(ContactChangedEvent event) {
+        if (event.getType() != ContactChangedEvent.Type.CREATED && event.getType() != ContactChangedEvent.Type.UPDATED) {
+            return;
+        }
+        String phone = event.getContact().getPhone();
+        if (rebuilding.get()) {
+            pendingPhones.add(phone);
+        }
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        current.put(phone);
+        if (ready && current.insertions() > capacity && !rebuilding.get()) {
+            log.info("电话号码过滤器已超出容量 {}，后台重建", capacity);
+            taskExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * 过滤器状态和检查结果指标
+     * 实际误判率 = false_positive / (false_positive + skipped)，可由 contacts.phone.filter.results 计算
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("contacts.phone.filter.ready", this, f -> f.ready ? 1 : 0)
+                .description("过滤器是否可用，不可用时所有检查都查询数据库")
+                .register(registry);
+        Gauge.builder("contacts.phone.filter.capacity", this, f -> f.capacity)
+                .description("当前过滤器的容量（预期元素数量）")
+                .register(registry);
+        Gauge.builder("contacts.phone.filter.insertions", this, f -> f.filter == null ? 0 : f.filter.insertions())
+                .description("当前过滤器中插入的号码数")
+                .register(registry);
+        Gauge.builder("contacts.phone.filter.bits", this, f -> f.filter == null ? 0 : f.filter.bitSize())
+                .description("当前过滤器的位数")
+                .register(registry);
+        Gauge.builder("contacts.phone.filter.expected.false.positive.rate", this,
+                        f -> f.filter == null ? 0 : f.filter.expectedFalsePositiveRate())
+                .description("按当前插入数量估算的误判率")
+                .register(registry);
+        FunctionCounter.builder("contacts.phone.filter.lookups", lookups, LongAdder::sum)
+                .description("经过过滤器的号码检查次数")
+                .register(registry);
+        // skipped: 判定一定不存在、省去查询；confirmed: 可能存在且数据库确认存在；false_positive: 数据库确认不存在
+        resultCounter(registry, "skipped", skippedQueries);
+        resultCounter(registry, "confirmed", confirmedHits);
+        resultCounter(registry, "false_positive", falsePositives);
+    }
+
+    private static void resultCounter(MeterRegistry registry, String result, LongAdder adder) {
+        FunctionCounter.builder("contacts.phone.filter.results", adder, LongAdder::sum)
+                .description("过滤器检查结果")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void drainPending(BloomFilter target) {
+        String phone;
+        while ((phone = pendingPhones.poll()) != null) {
+            target.put(phone);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 头像上传响应
+ * 创建或更新联系人时将 hash 作为 avatarHash 提交即可引用该头像
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvatarUploadResponse {
+
+    private String hash;
+    private String url;
+    private String contentType;
+    private Long size;
+}
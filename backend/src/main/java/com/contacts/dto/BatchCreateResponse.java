@@ -0,0 +1,22 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量创建联系人响应
+ * items 与请求数组一一对应
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCreateResponse {
+
+    private int total;
+    private int created;
+    private int failed;
+    private List<BatchItemResult> items;
+}
@@ -0,0 +1,51 @@
+package com.contacts.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量操作中单条记录的处理结果
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED,
+        // 合并模式：号码已存在，导入的字段有变化并已更新
+        UPDATED,
+        // 合并模式：号码已存在，导入的字段没有变化
+        UNCHANGED,
+        // 参数校验失败
+        INVALID,
+        // 电话号码已存在，或与同一批次中前面的记录重复
+        DUPLICATE
+    }
+
+    // 在请求数组中的下标
+    private int index;
+
+    private Status status;
+
+    // 创建或合并成功时的联系人ID
+    private Long id;
+
+    // 失败原因
+    private String message;
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    public static BatchItemResult merged(int index, Status status, Long id) {
+        return new BatchItemResult(index, status, id, null);
+    }
+
+    public static BatchItemResult failed(int index, Status status, String message) {
+        return new BatchItemResult(index, status, null, message);
+    }
+}
@@ -0,0 +1,24 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 按电话号码批量合并联系人响应
+ * items 与请求数组一一对应
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchUpsertResponse {
+
+    private int total;
+    private int inserted;
+    private int updated;
+    private int unchanged;
+    private int failed;
+    private List<BatchItemResult> items;
+}
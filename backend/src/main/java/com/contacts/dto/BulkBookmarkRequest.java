@@ -0,0 +1,21 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量收藏/取消收藏请求
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookmarkRequest {
+
+    private List<Long> ids;
+
+    // true 收藏，false 取消收藏
+    private Boolean bookmarked;
+}
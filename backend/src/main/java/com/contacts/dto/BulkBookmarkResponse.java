@@ -0,0 +1,22 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量收藏/取消收藏响应
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkBookmarkResponse {
+
+    // 去重后的ID数量
+    private int requested;
+
+    // 状态实际发生变化的数量，不含不存在或已是目标状态的联系人
+    private int updated;
+
+    private boolean bookmarked;
+}
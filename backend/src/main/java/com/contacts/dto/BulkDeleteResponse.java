@@ -0,0 +1,20 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量删除响应
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDeleteResponse {
+
+    // 去重后的ID数量
+    private int requested;
+
+    // 实际删除的数量，不含不存在的联系人
+    private int deleted;
+}
@@ -0,0 +1,41 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 联系人详情缓存的运行指标
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactCacheStats {
+
+    // 是否启用了缓存（contacts.cache.enabled），未启用时其余字段均为0
+    private boolean enabled;
+
+    private long maximumSize;
+
+    private long expireAfterWriteSeconds;
+
+    // 当前缓存的联系人数量（估计值）
+    private long estimatedSize;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private double hitRate;
+
+    // 加载时联系人不存在或查询失败的次数，这些结果不会被缓存
+    private long loadFailureCount;
+
+    // 因容量或过期被淘汰的数量，不含变更时主动失效的数量
+    private long evictionCount;
+
+    // 未命中时从数据库加载的平均耗时（毫秒）
+    private double averageLoadPenaltyMillis;
+}
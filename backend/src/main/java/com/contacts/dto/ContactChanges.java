@@ -0,0 +1,31 @@
+package com.contacts.dto;
+
+import com.contacts.entity.Contact;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 增量同步响应
+ * 客户端先按ID合并 changes、再移除 deleted 中的联系人（同一响应中可能同时出现），再以 nextToken 作为下一次请求的 since；
+ * hasMore 为 true 时应立即继续请求。同一联系人可能在相邻两次响应中重复出现，按ID覆盖即可
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactChanges {
+
+    // 新增或修改的联系人，按更新时间升序
+    private List<Contact> changes;
+
+    // 已删除的联系人ID；首次同步的第一页为空，可能包含客户端从未获取过的ID
+    private List<Long> deleted;
+
+    private String nextToken;
+
+    private boolean hasMore;
+}
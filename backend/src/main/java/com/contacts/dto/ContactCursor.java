@@ -0,0 +1,106 @@
+package com.contacts.dto;
+
+import com.contacts.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 联系人列表的键集分页游标
+ * 记录上一页最后一条记录的排序键（id，或 name + id），下一页从该位置之后继续读取，
+ * 因此无论翻到第几页，数据库都只需沿索引定位后读取 limit 条记录
+ */
+@Getter
+@AllArgsConstructor
+public class ContactCursor {
+
+    public static final String SORT_ID = "id";
+    public static final String SORT_NAME = "name";
+
+    private final String sort;
+
+    // 上一页最后一条记录的ID，为空表示第一页
+    private final Long lastId;
+
+    // 上一页最后一条记录的姓名，仅按姓名排序时使用
+    private final String lastName;
+
+    public boolean isSortByName() {
+        return SORT_NAME.equals(sort);
+    }
+
+    public boolean isFirstPage() {
+        return lastId == null;
+    }
+
+    /**
+     * 以指定记录为起点生成下一页游标
+     */
+    public ContactCursor next(Long id, String name) {
+        return new ContactCursor(sort, id, isSortByName() ? name : null);
+    }
+
+    /**
+     * 编码为对客户端不透明的游标字符串
+     */
+    public String encode() {
+        String raw = isSortByName() ? sort + ":" + lastId + ":" + lastName : sort + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析请求参数
+     * @param sort 排序方式（id 或 name），为空时沿用游标中的排序方式，默认按 id
+     * @param after 纯数字表示按 id 排序时的起始ID，否则为上一页返回的 nextCursor
+     * @return 游标对象
+     */
+    public static ContactCursor parse(String sort, String after) {
+        String requestedSort = sort == null || sort.trim().isEmpty() ? null : sort.trim().toLowerCase();
+        if (requestedSort != null && !SORT_ID.equals(requestedSort) && !SORT_NAME.equals(requestedSort)) {
+            throw new ValidationException("不支持的排序方式: " + sort);
+        }
+
+        if (after == null || after.trim().isEmpty()) {
+            return new ContactCursor(requestedSort == null ? SORT_ID : requestedSort, null, null);
+        }
+
+        String token = after.trim();
+        if (token.chars().allMatch(Character::isDigit) && !SORT_NAME.equals(requestedSort)) {
+            return new ContactCursor(SORT_ID, parseId(token), null);
+        }
+
+        ContactCursor cursor = decode(token);
+        if (requestedSort != null && !requestedSort.equals(cursor.getSort())) {
+            throw new ValidationException("分页游标与排序方式不匹配");
+        }
+        return cursor;
+    }
+
+    private static ContactCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("分页游标无效", e);
+        }
+
+        String[] parts = raw.split(":", 3);
+        if (SORT_ID.equals(parts[0]) && parts.length == 2) {
+            return new ContactCursor(SORT_ID, parseId(parts[1]), null);
+        }
+        if (SORT_NAME.equals(parts[0]) && parts.length == 3) {
+            return new ContactCursor(SORT_NAME, parseId(parts[1]), parts[2]);
+        }
+        throw new ValidationException("分页游标无效");
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("分页游标无效", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 联系人变更推送的运行指标
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactEventStats {
+
+    // 当前的订阅连接数
+    private int subscribers;
+
+    private int maxSubscribers;
+
+    // 已发布的事件数，即最新的事件序号
+    private long published;
+
+    // 按 drop-oldest 策略因队列已满丢弃的事件数
+    private long dropped;
+
+    // 按 disconnect 策略因队列已满断开的连接数
+    private long overflowDisconnects;
+
+    // 发送失败（客户端已断开）移除的连接数
+    private long sendFailures;
+}
@@ -0,0 +1,50 @@
+package com.contacts.dto;
+
+import com.contacts.entity.Contact;
+import com.contacts.utils.AvatarUtil;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 联系人列表项（轻量投影）
+ * 只包含列表展示需要的字段，头像通过 avatarUrl 单独加载
+ */
+@Data
+@NoArgsConstructor
+public class ContactSummary {
+
+    private Long id;
+    private String name;
+    private String phone;
+    private String company;
+    private Boolean bookmarked;
+    private LocalDateTime updatedTime;
+
+    // 头像地址，没有头像时为空
+    private String avatarUrl;
+
+    /**
+     * JPQL 构造器表达式使用，头像地址由 hash 生成
+     * @param avatarHash 头像引用，没有头像时为空
+     */
+    public ContactSummary(Long id, String name, String phone, String company, Boolean bookmarked,
+                          LocalDateTime updatedTime, String avatarHash) {
+        this.id = id;
+        this.name = name;
+        this.phone = phone;
+        this.company = company;
+        this.bookmarked = bookmarked;
+        this.updatedTime = updatedTime;
+        this.avatarUrl = AvatarUtil.urlOf(avatarHash);
+    }
+
+    /**
+     * 由完整实体生成列表项
+     */
+    public static ContactSummary from(Contact contact) {
+        return new ContactSummary(contact.getId(), contact.getName(), contact.getPhone(), contact.getCompany(),
+                contact.getBookmarked(), contact.getUpdatedTime(), contact.getAvatarHash());
+    }
+}
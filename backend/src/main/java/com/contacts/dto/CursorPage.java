@@ -0,0 +1,33 @@
+package com.contacts.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页响应格式
+ * nextCursor 为下一页的游标，没有更多数据时为空
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    // 下一页游标，原样作为 after 参数传回即可
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    private int limit;
+
+    // 排序方式：id 或 name
+    private String sort;
+}
@@ -0,0 +1,78 @@
+package com.contacts.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 导入任务状态
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobStatus {
+
+    private String id;
+
+    // QUEUED / RUNNING / COMPLETED / FAILED
+    private String status;
+
+    private String filename;
+
+    // CREATE / UPSERT
+    private String mode;
+
+    // 工作表声明的数据行数，文件未声明时为空
+    private Long estimatedRows;
+
+    // 已解析的有效行数
+    private long rowsRead;
+
+    // 是否已解析完整个文件
+    private boolean parseCompleted;
+
+    // 已处理完成（成功或失败）的行数
+    private long processedRows;
+
+    private long insertedRows;
+
+    // 合并模式下已更新、未变化的行数
+    private long updatedRows;
+
+    private long unchangedRows;
+
+    // 校验失败的行数
+    private long invalidRows;
+
+    // 号码已存在或在文件中重复的行数
+    private long duplicateRows;
+
+    // 其他原因导致失败的行数
+    private long failedRows;
+
+    // 进度百分比，无法估算时为空
+    private Double progress;
+
+    private double rowsPerSecond;
+
+    private long elapsedMillis;
+
+    private LocalDateTime createdTime;
+
+    private LocalDateTime finishedTime;
+
+    // 任务失败原因
+    private String message;
+
+    // 错误总数，errors 最多只保留前若干条
+    private long errorCount;
+
+    private List<ImportRowError> errors;
+}
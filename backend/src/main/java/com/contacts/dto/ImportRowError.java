@@ -0,0 +1,23 @@
+package com.contacts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 导入任务中单行的错误信息
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+
+    // Excel 中的行号（从1开始）
+    private int row;
+
+    private String name;
+
+    private String phone;
+
+    private String message;
+}
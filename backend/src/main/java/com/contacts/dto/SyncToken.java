@@ -0,0 +1,80 @@
+package com.contacts.dto;
+
+import com.contacts.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * 增量同步的水位线
+ * 联系人按 (更新时间, ID) 记录已同步到的位置；删除记录单独记录已同步到的删除时间，
+ * 分页获取全量数据的过程中删除的联系人也能在后续页返回
+ */
+@Getter
+@AllArgsConstructor
+public class SyncToken {
+
+    // 首次同步的起点，早于所有联系人的更新时间
+    public static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime since;
+
+    // 更新时间等于 since 的联系人中，已同步到的最大ID
+    private final long lastId;
+
+    // 已同步到的删除时间，首次同步的第一页为 null（客户端还没有任何联系人，不需要删除记录）
+    private final LocalDateTime deletedSince;
+
+    public static SyncToken initial() {
+        return new SyncToken(ORIGIN, 0, null);
+    }
+
+    public boolean isInitial() {
+        return deletedSince == null;
+    }
+
+    /**
+     * 编码为对客户端不透明的字符串（微秒时间戳:ID:删除记录的微秒时间戳）
+     */
+    public String encode() {
+        String raw = toMicros(since) + ":" + lastId + ":" + (deletedSince == null ? "" : toMicros(deletedSince));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析请求参数
+     * @param token 上一次同步返回的 nextToken，为空表示首次同步
+     * @return 水位线
+     */
+    public static SyncToken parse(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return initial();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", -1);
+            if (parts.length != 3) {
+                throw new ValidationException("同步令牌无效");
+            }
+            return new SyncToken(fromMicros(parts[0]), Long.parseLong(parts[1]),
+                    parts[2].isEmpty() ? null : fromMicros(parts[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("同步令牌无效", e);
+        }
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(String value) {
+        long micros = Long.parseLong(value);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
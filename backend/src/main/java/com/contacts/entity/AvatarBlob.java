@@ -0,0 +1,43 @@
+package com.contacts.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 头像存储记录
+ * 以图片内容的 SHA-256 作为主键，相同图片只保存一份，多个联系人通过 avatarHash 引用
+ */
+@Data
+@Entity
+@Table(name = "avatars")
+public class AvatarBlob {
+
+    // 头像大小上限（字节）
+    public static final int MAX_SIZE = 2 * 1024 * 1024;
+
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long size;
+
+    // 数据库存储模式下保存图片内容，文件系统存储模式下为空
+    @JsonIgnore
+    @Column(name = "data", length = MAX_SIZE)
+    private byte[] data;
+
+    @Column(name = "created_time")
+    private LocalDateTime createdTime;
+
+    @PrePersist
+    protected void onCreate() {
+        createdTime = LocalDateTime.now();
+    }
+}
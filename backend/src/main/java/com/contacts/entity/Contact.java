@@ -1,21 +1,53 @@
 package com.contacts.entity;
 
+import com.contacts.utils.AvatarUtil;
+import com.contacts.utils.PinyinUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Data
 @Entity
-@Table(name = "contacts")
+@Table(name = "contacts", indexes = {
+        // 按姓名键集分页使用的复合索引
+        @Index(name = "idx_contacts_name_id", columnList = "name, id"),
+        // 增量同步按更新时间键集分页使用的复合索引
+        @Index(name = "idx_contacts_updated_time_id", columnList = "updated_time, id")
+}, uniqueConstraints = {
+        // 电话号码唯一，服务层检查之外的最后一道保证
+        @UniqueConstraint(name = Contact.UK_PHONE, columnNames = "phone")
+})
 public class Contact {
 
+    public static final String UK_PHONE = "uk_contacts_phone";
+
+    public static final String ID_SEQUENCE = "contacts_id_seq";
+
+    // 每次从序列预取的ID数量，数据库中序列的步长必须与之一致
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // 使用 pooled 序列而不是自增列，Hibernate 才能在插入前拿到ID并进行 JDBC 批量插入
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "name", nullable = false, length = 100)
     private String name;
 
+    // 姓名全拼（音节以空格分隔），保存时由姓名生成，用于拼音搜索
+    @JsonIgnore
+    @Column(name = "name_pinyin", length = 800)
+    private String namePinyin;
+
+    // 姓名首字母，保存时由姓名生成
+    @JsonIgnore
+    @Column(name = "name_initials", length = 100)
+    private String nameInitials;
+
     @Column(name = "phone", nullable = false, length = 20)
     private String phone;
 
@@ -28,9 +60,15 @@ public class Contact {
     @Column(name = "company", length = 100)
     private String company;
 
+    // 仅用于接收前端提交的 data URL 头像及兼容旧数据，保存时会转存到头像存储并清空，响应中不返回
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(name = "avatar", columnDefinition = "TEXT")
     private String avatar;
 
+    // 头像存储中的引用（图片内容的 SHA-256）
+    @Column(name = "avatar_hash", length = 64)
+    private String avatarHash;
+
     // 新增：社交媒体字段
     @Column(name = "wechat", length = 50)
     private String wechat;  // 微信账号
@@ -47,18 +85,44 @@ public class Contact {
     @Column(name = "updated_time")
     private LocalDateTime updatedTime;
 
+    /**
+     * 头像访问地址，由 avatarHash 生成，不持久化
+     */
+    public String getAvatarUrl() {
+        return AvatarUtil.urlOf(avatarHash);
+    }
+
+    /**
+     * 当前时间，截断到微秒
+     * 与数据库时间戳列的精度一致，保存后内存中的值与重新读取的值相同，updatedTime 可用于生成 ETag
+     */
+    public static LocalDateTime currentTimestamp() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     @PrePersist
     protected void onCreate() {
-        createdTime = LocalDateTime.now();
-        updatedTime = LocalDateTime.now();
+        createdTime = currentTimestamp();
+        updatedTime = createdTime;
         if (bookmarked == null) {
             bookmarked = false;
         }
+        refreshNameKeys();
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedTime = LocalDateTime.now();
+        updatedTime = currentTimestamp();
+        refreshNameKeys();
+    }
+
+    /**
+     * 根据姓名重新生成拼音和首字母
+     */
+    public void refreshNameKeys() {
+        PinyinUtil.NameKeys keys = PinyinUtil.of(name);
+        namePinyin = keys.getPinyin();
+        nameInitials = keys.getInitials();
     }
 
     // 更新所有构造函数以包含新字段
@@ -0,0 +1,29 @@
+package com.contacts.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 已删除联系人的记录（墓碑）
+ * 删除联系人时在同一事务中写入，增量同步接口据此告知客户端哪些联系人已被删除；
+ * 联系人ID由序列分配、不会复用，因此直接以联系人ID作为主键
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@Table(name = "deleted_contacts", indexes = {
+        // 增量同步按删除时间范围查询
+        @Index(name = "idx_deleted_contacts_deleted_time", columnList = "deleted_time")
+})
+public class DeletedContact {
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "deleted_time", nullable = false)
+    private LocalDateTime deletedTime;
+}
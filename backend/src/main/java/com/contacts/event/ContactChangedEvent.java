@@ -0,0 +1,54 @@
+package com.contacts.event;
+
+import com.contacts.entity.Contact;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 联系人变更事件
+ * 由 ContactServiceImpl 在写操作的事务内发布，搜索索引等内存结构据此保持与数据库一致；
+ * 需要在提交后处理的监听器应使用 @TransactionalEventListener
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ContactChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BOOKMARKED
+    }
+
+    private final Type type;
+
+    private final Long contactId;
+
+    // 变更后的联系人，删除和批量收藏时为空
+    private final Contact contact;
+
+    public static ContactChangedEvent created(Contact contact) {
+        return new ContactChangedEvent(Type.CREATED, contact.getId(), contact);
+    }
+
+    public static ContactChangedEvent updated(Contact contact) {
+        return new ContactChangedEvent(Type.UPDATED, contact.getId(), contact);
+    }
+
+    public static ContactChangedEvent deleted(Long contactId) {
+        return new ContactChangedEvent(Type.DELETED, contactId, null);
+    }
+
+    public static ContactChangedEvent bookmarked(Contact contact) {
+        return new ContactChangedEvent(Type.BOOKMARKED, contact.getId(), contact);
+    }
+
+    /**
+     * 批量收藏时只知道ID，不读取联系人
+     */
+    public static ContactChangedEvent bookmarked(Long contactId) {
+        return new ContactChangedEvent(Type.BOOKMARKED, contactId, null);
+    }
+}
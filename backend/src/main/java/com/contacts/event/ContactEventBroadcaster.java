@@ -0,0 +1,389 @@
+package com.contacts.event;
+
+import com.contacts.dto.ContactEventStats;
+import com.contacts.exception.EventSubscriptionRejectedException;
+import com.contacts.exception.ValidationException;
+import com.contacts.utils.ExecutorUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 联系人变更推送（Server-Sent Events）
+ * 变更事务提交后为事件分配序号，写入环形缓冲区并分发给所有订阅者。
+ * 每个订阅者有一个有界队列，发布时只入队不做 IO；由少量发送线程轮流为有待发事件的订阅者写出
+ * （启用虚拟线程时每次写出使用一个虚拟线程），空闲的连接只占用一个异步请求和一个空队列，不占用线程。
+ * 队列已满时按订阅者选择的策略处理：drop-oldest 丢弃最早的事件并提示客户端重新加载，
+ * disconnect 断开连接，由浏览器带 Last-Event-ID 重连后从缓冲区补发。
+ * 事件只在本实例内分发，多实例部署时客户端只能收到所连接实例上的变更
+ */
+@Slf4j
+@Component
+public class ContactEventBroadcaster {
+
+    /**
+     * 订阅者的队列已满时的处理策略
+     */
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT;
+
+        public static OverflowPolicy fromParam(String value) {
+            if (value == null || value.isBlank() || "drop-oldest".equalsIgnoreCase(value)) {
+                return DROP_OLDEST;
+            }
+            if ("disconnect".equalsIgnoreCase(value)) {
+                return DISCONNECT;
+            }
+            throw new ValidationException("不支持的溢出策略: " + value + "，可选 drop-oldest、disconnect");
+        }
+    }
+
+    // 联系人变更的事件名
+    static final String CONTACT_EVENT = "contact";
+
+    // 客户端错过了部分事件（Last-Event-ID 已不在缓冲区或队列溢出），需要重新加载列表
+    static final String RESET_EVENT = "reset";
+
+    // 浏览器断线后的重连间隔，随第一条消息发出；第一条消息同时使响应头立即写出，EventSource 随即进入 open 状态
+    static final long RECONNECT_DELAY_MILLIS = 3000;
+
+    private static final Object HEARTBEAT = new Object();
+
+    /**
+     * 缓冲区中的一个事件
+     */
+    private record Entry(long sequence, ContactFeedEvent event) {
+    }
+
+    private final int bufferSize;
+
+    private final int queueCapacity;
+
+    private final int maxSubscribers;
+
+    private final Duration timeout;
+
+    private final Executor sender;
+
+    // 由本类创建的发送线程池，关闭时一并关闭
+    private final TaskExecutor ownedSender;
+
+    // 实例启动时间作为事件ID的前缀，重启后旧的 Last-Event-ID 不会被误认为新序号
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // 以下两个字段由 this 保护
+    private final Entry[] buffer;
+
+    private long lastSequence;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private final LongAdder overflowDisconnects = new LongAdder();
+
+    private final LongAdder sendFailures = new LongAdder();
+
+    @Autowired
+    public ContactEventBroadcaster(@Value("${contacts.events.buffer-size:1024}") int bufferSize,
+                                   @Value("${contacts.events.queue-capacity:256}") int queueCapacity,
+                                   @Value("${contacts.events.max-subscribers:10000}") int maxSubscribers,
+                                   @Value("${contacts.events.timeout:30m}") Duration timeout,
+                                   @Value("${contacts.events.sender-threads:2}") int senderThreads,
+                                   Environment environment) {
+        // 每个订阅者同时最多只有一个发送任务在排队，任务队列不需要限制长度
+        this(bufferSize, queueCapacity, maxSubscribers, timeout,
+                ExecutorUtil.create("contact-events-", senderThreads, -1, Threading.VIRTUAL.isActive(environment)));
+    }
+
+    ContactEventBroadcaster(int bufferSize, int queueCapacity, int maxSubscribers, Duration timeout, Executor sender) {
+        this.bufferSize = bufferSize;
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.sender = sender;
+        this.ownedSender = sender instanceof TaskExecutor executor ? executor : null;
+        this.buffer = new Entry[bufferSize];
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (ownedSender != null) {
+            ExecutorUtil.shutdown(ownedSender);
+        }
+    }
+
+    /**
+     * 订阅变更推送
+     * @param lastEventId 浏览器重连时带上的 Last-Event-ID，为空表示只接收之后的事件
+     * @param policy 队列已满时的处理策略
+     * @return 交给 Spring MVC 写出的 SseEmitter
+     * @throws EventSubscriptionRejectedException 订阅连接数已达上限时抛出异常
+     */
+    public SseEmitter subscribe(String lastEventId, OverflowPolicy policy) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new EventSubscriptionRejectedException(maxSubscribers);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, lastEventId, policy);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, String lastEventId, OverflowPolicy policy) {
+        try {
+            // 连接尚未建立，消息会暂存到 Spring MVC 开始写出响应时发送
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_DELAY_MILLIS));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return;
+        }
+        Subscriber subscriber = new Subscriber(emitter, policy);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscriber.close());
+        // 补发与加入订阅在同一把锁内完成，与发布互斥，事件既不会遗漏也不会重复
+        synchronized (this) {
+            replay(subscriber, lastEventId);
+            subscribers.add(subscriber);
+        }
+        log.debug("新的变更推送订阅，Last-Event-ID: {}，当前订阅数: {}", lastEventId, subscribers.size());
+    }
+
+    /**
+     * 变更提交后发布；未使用事务发布的事件立即处理
+     * 只在锁内入队，写出由发送线程完成，慢客户端不会阻塞提交变更的线程
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onContactChanged(ContactChangedEvent event) {
+        Entry entry = new Entry(++lastSequence, new ContactFeedEvent(event.getType(), event.getContactId()));
+        buffer[(int) (entry.sequence() % bufferSize)] = entry;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(entry);
+        }
+    }
+
+    /**
+     * 定期向空闲的连接发送注释行，使代理不因空闲断开连接，并及时发现已关闭的连接
+     */
+    @Scheduled(fixedRateString = "${contacts.events.heartbeat-interval:30s}",
+            initialDelayString = "${contacts.events.heartbeat-interval:30s}")
+    public void sendHeartbeats() {
+        subscribers.forEach(Subscriber::heartbeat);
+    }
+
+    public synchronized ContactEventStats getStats() {
+        return ContactEventStats.builder()
+                .subscribers(subscribers.size())
+                .maxSubscribers(maxSubscribers)
+                .published(lastSequence)
+                .dropped(dropped.sum())
+                .overflowDisconnects(overflowDisconnects.sum())
+                .sendFailures(sendFailures.sum())
+                .build();
+    }
+
+    // ========== 私有辅助方法 ==========
+
+    /**
+     * 补发 Last-Event-ID 之后的事件（调用方持有锁）
+     * ID 不是本实例发出的、已不在缓冲区或补发数量超过队列容量时，改为通知客户端重新加载
+     */
+    private void replay(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long since = parseSequence(lastEventId.trim());
+        long missed = lastSequence - since;
+        if (since < 0 || missed < 0 || missed > Math.min(bufferSize, queueCapacity)) {
+            subscriber.reset();
+            return;
+        }
+        for (long sequence = since + 1; sequence <= lastSequence; sequence++) {
+            subscriber.offer(buffer[(int) (sequence % bufferSize)]);
+        }
+    }
+
+    /**
+     * 解析事件ID（启动时间-序号），不是本实例发出的ID返回 -1
+     */
+    private long parseSequence(String eventId) {
+        int separator = eventId.indexOf('-');
+        if (separator <= 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * 一个订阅连接
+     * 队列和状态由订阅者自身的锁保护；写出在锁外进行，慢客户端只会阻塞一个发送线程
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final OverflowPolicy policy;
+
+        // 待发送的 Entry 或 HEARTBEAT
+        private final ArrayDeque<Object> pending = new ArrayDeque<>();
+
+        private boolean resetPending;
+
+        private boolean draining;
+
+        private boolean closed;
+
+        // 溢出断开时由发送线程完成连接，避免在发布线程中等待正在写出的连接
+        private boolean completeRequested;
+
+        private Subscriber(SseEmitter emitter, OverflowPolicy policy) {
+            this.emitter = emitter;
+            this.policy = policy;
+        }
+
+        synchronized void offer(Entry entry) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= queueCapacity) {
+                if (policy == OverflowPolicy.DISCONNECT) {
+                    overflowDisconnects.increment();
+                    closed = true;
+                    completeRequested = true;
+                    pending.clear();
+                    schedule();
+                    return;
+                }
+                // 客户端已错过事件，发出的第一条消息改为 reset
+                pending.pollFirst();
+                dropped.increment();
+                resetPending = true;
+            }
+            pending.addLast(entry);
+            schedule();
+        }
+
+        synchronized void reset() {
+            pending.clear();
+            resetPending = true;
+            schedule();
+        }
+
+        synchronized void heartbeat() {
+            if (!closed && !draining && pending.isEmpty()) {
+                pending.addLast(HEARTBEAT);
+                schedule();
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+        }
+
+        /**
+         * 没有发送任务在运行时提交一个（调用方持有锁）
+         */
+        private void schedule() {
+            if (draining) {
+                return;
+            }
+            draining = true;
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // 应用正在关闭
+                draining = false;
+                closed = true;
+            }
+        }
+
+        /**
+         * 依次写出队列中的消息，队列为空时退出
+         */
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder message;
+                synchronized (this) {
+                    if (completeRequested) {
+                        completeRequested = false;
+                        draining = false;
+                        message = null;
+                    } else if (closed) {
+                        draining = false;
+                        return;
+                    } else if (resetPending) {
+                        resetPending = false;
+                        message = SseEmitter.event().name(RESET_EVENT).data("reload");
+                    } else {
+                        Object item = pending.pollFirst();
+                        if (item == null) {
+                            draining = false;
+                            return;
+                        }
+                        message = toMessage(item);
+                    }
+                }
+                if (message == null) {
+                    subscribers.remove(this);
+                    emitter.complete();
+                    return;
+                }
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // 客户端已断开或连接已超时，由容器回调 onError/onCompletion
+                    sendFailures.increment();
+                    close();
+                    synchronized (this) {
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        private SseEmitter.SseEventBuilder toMessage(Object item) {
+            if (item == HEARTBEAT) {
+                return SseEmitter.event().comment("");
+            }
+            Entry entry = (Entry) item;
+            return SseEmitter.event()
+                    .id(eventId(entry.sequence()))
+                    .name(CONTACT_EVENT)
+                    .data(entry.event(), MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.contacts.event;
+
+/**
+ * 推送给浏览器的联系人变更
+ * 只包含变更类型和联系人ID，不含联系人内容：客户端据此刷新列表或重新获取详情（条件请求通常返回 304）
+ */
+public record ContactFeedEvent(ContactChangedEvent.Type type, Long contactId) {
+}
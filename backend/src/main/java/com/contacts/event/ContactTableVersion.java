@@ -0,0 +1,39 @@
+package com.contacts.event;
+
+import com.contacts.utils.ETagUtil;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 联系人表的版本号
+ * 每次联系人变更提交后加一，用于生成列表接口的 ETag 和 Last-Modified。
+ * 在提交后而不是变更时加一：读取版本号后才查询数据，版本号只会比数据旧，
+ * 最坏情况是客户端多下载一次，不会把新数据误判为未修改。
+ * 版本号只保存在内存中，多实例部署时各实例的 ETag 不同，只会降低 304 的比例
+ */
+@Component
+public class ContactTableVersion {
+
+    /**
+     * 某一时刻的版本号及最后修改时间（毫秒）
+     */
+    public record Snapshot(long version, long lastModified, String eTag) {
+    }
+
+    private final long epoch = System.currentTimeMillis();
+
+    private volatile Snapshot current = new Snapshot(0, epoch, ETagUtil.ofList(epoch, 0));
+
+    public Snapshot current() {
+        return current;
+    }
+
+    /**
+     * 变更提交后增加版本号；未使用事务发布的事件立即处理
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onContactChanged(ContactChangedEvent event) {
+        long version = current.version() + 1;
+        current = new Snapshot(version, System.currentTimeMillis(), ETagUtil.ofList(epoch, version));
+    }
+}
@@ -0,0 +1,11 @@
+package com.contacts.exception;
+
+/**
+ * 变更推送订阅被拒绝异常（订阅连接数已达上限）
+ */
+public class EventSubscriptionRejectedException extends BusinessException {
+
+    public EventSubscriptionRejectedException(int maxSubscribers) {
+        super("变更推送的订阅连接数已达上限 (" + maxSubscribers + ")，请稍后重试");
+    }
+}
@@ -0,0 +1,11 @@
+package com.contacts.exception;
+
+/**
+ * 导入任务被拒绝异常（同时运行的导入任务已达上限）
+ */
+public class ImportJobRejectedException extends BusinessException {
+
+    public ImportJobRejectedException(int maxConcurrentJobs) {
+        super("同时运行的导入任务已达上限 (" + maxConcurrentJobs + ")，请稍后重试");
+    }
+}
@@ -0,0 +1,11 @@
+package com.contacts.exception;
+
+/**
+ * 前置条件不满足异常（If-Match 与联系人当前的 ETag 不一致）
+ */
+public class PreconditionFailedException extends BusinessException {
+
+    public PreconditionFailedException(Long id) {
+        super("联系人已被修改，请刷新后重试，ID: " + id);
+    }
+}
@@ -0,0 +1,11 @@
+package com.contacts.exception;
+
+/**
+ * 同步令牌过期异常（早于删除记录的保留时长，需要重新全量同步）
+ */
+public class SyncTokenExpiredException extends BusinessException {
+
+    public SyncTokenExpiredException() {
+        super("同步令牌已过期，请不带 since 参数重新全量同步");
+    }
+}
@@ -1,16 +1,32 @@
 package com.contacts.exception;
 
+import java.util.Map;
+
 /**
  * 参数验证异常
  */
 public class ValidationException extends BusinessException {
 
+    // 字段名 -> 错误信息，一次校验发现多个错误时使用
+    private final Map<String, String> fieldErrors;
+
     public ValidationException(String message) {
         super(message);
+        this.fieldErrors = Map.of();
     }
 
     public ValidationException(String message, Throwable cause) {
         super(message, cause);
+        this.fieldErrors = Map.of();
+    }
+
+    public ValidationException(String message, Map<String, String> fieldErrors) {
+        super(message);
+        this.fieldErrors = fieldErrors;
+    }
+
+    public Map<String, String> getFieldErrors() {
+        return fieldErrors;
     }
 }
 
@@ -0,0 +1,199 @@
+package com.contacts.importjob;
+
+import com.contacts.dto.ImportJobStatus;
+import com.contacts.dto.ImportRowError;
+import com.contacts.entity.Contact;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导入任务的运行状态
+ * 由流水线各阶段的线程并发更新，查询时生成 ImportJobStatus 快照
+ */
+public class ImportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    public enum Mode {
+        // 只新增，号码已存在的行记为重复
+        CREATE,
+        // 按电话号码合并：新增不存在的号码，更新有变化的行
+        UPSERT
+    }
+
+    @Getter
+    private final String id;
+
+    @Getter
+    private final String filename;
+
+    @Getter
+    private final Mode mode;
+
+    // 最多保留的错误明细条数
+    private final int maxErrors;
+
+    @Getter
+    private volatile Status status = Status.QUEUED;
+
+    private volatile long estimatedRows = -1;
+
+    private volatile boolean parseCompleted;
+
+    private volatile String message;
+
+    private final LocalDateTime createdTime = LocalDateTime.now();
+
+    private volatile long startNanos;
+
+    private volatile long finishNanos;
+
+    @Getter
+    private volatile LocalDateTime finishedTime;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong insertedRows = new AtomicLong();
+    private final AtomicLong updatedRows = new AtomicLong();
+    private final AtomicLong unchangedRows = new AtomicLong();
+    private final AtomicLong invalidRows = new AtomicLong();
+    private final AtomicLong duplicateRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+
+    private final AtomicLong errorCount = new AtomicLong();
+    private final Queue<ImportRowError> errors = new ConcurrentLinkedQueue<>();
+
+    public ImportJob(String id, String filename, Mode mode, int maxErrors) {
+        this.id = id;
+        this.filename = filename;
+        this.mode = mode;
+        this.maxErrors = maxErrors;
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finish(Status.COMPLETED, null);
+    }
+
+    void fail(String reason) {
+        finish(Status.FAILED, reason);
+    }
+
+    private void finish(Status finalStatus, String reason) {
+        finishNanos = System.nanoTime();
+        finishedTime = LocalDateTime.now();
+        message = reason;
+        status = finalStatus;
+    }
+
+    void setEstimatedRows(long rows) {
+        estimatedRows = rows;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void parseCompleted() {
+        parseCompleted = true;
+    }
+
+    void inserted(int count) {
+        insertedRows.addAndGet(count);
+    }
+
+    void updated(int count) {
+        updatedRows.addAndGet(count);
+    }
+
+    void unchanged(int count) {
+        unchangedRows.addAndGet(count);
+    }
+
+    void invalid(int row, Contact contact, String reason) {
+        invalidRows.incrementAndGet();
+        recordError(row, contact, reason);
+    }
+
+    void duplicate(int row, Contact contact, String reason) {
+        duplicateRows.incrementAndGet();
+        recordError(row, contact, reason);
+    }
+
+    void failed(int row, Contact contact, String reason) {
+        failedRows.incrementAndGet();
+        recordError(row, contact, reason);
+    }
+
+    private void recordError(int row, Contact contact, String reason) {
+        if (errorCount.incrementAndGet() <= maxErrors) {
+            errors.add(new ImportRowError(row, contact.getName(), contact.getPhone(), reason));
+        }
+    }
+
+    /**
+     * 生成当前状态的快照
+     */
+    public ImportJobStatus toStatus() {
+        long processed = insertedRows.get() + updatedRows.get() + unchangedRows.get()
+                + invalidRows.get() + duplicateRows.get() + failedRows.get();
+        long elapsedNanos = startNanos == 0 ? 0 : (finishNanos != 0 ? finishNanos : System.nanoTime()) - startNanos;
+        long elapsedMillis = elapsedNanos / 1_000_000;
+
+        Double progress = null;
+        if (status == Status.COMPLETED) {
+            progress = 100.0;
+        } else if (parseCompleted) {
+            progress = rowsRead.get() == 0 ? 100.0 : percent(processed, rowsRead.get());
+        } else if (estimatedRows > 0) {
+            // 预计行数可能包含空行，解析完成前不报告 100%
+            progress = Math.min(99.9, percent(processed, estimatedRows));
+        }
+
+        return ImportJobStatus.builder()
+                .id(id)
+                .status(status.name())
+                .filename(filename)
+                .mode(mode.name())
+                .estimatedRows(estimatedRows < 0 ? null : estimatedRows)
+                .rowsRead(rowsRead.get())
+                .parseCompleted(parseCompleted)
+                .processedRows(processed)
+                .insertedRows(insertedRows.get())
+                .updatedRows(updatedRows.get())
+                .unchangedRows(unchangedRows.get())
+                .invalidRows(invalidRows.get())
+                .duplicateRows(duplicateRows.get())
+                .failedRows(failedRows.get())
+                .progress(progress)
+                .rowsPerSecond(elapsedMillis == 0 ? 0 : processed * 1000.0 / elapsedMillis)
+                .elapsedMillis(elapsedMillis)
+                .createdTime(createdTime)
+                .finishedTime(finishedTime)
+                .message(message)
+                .errorCount(errorCount.get())
+                .errors(new ArrayList<>(errors))
+                .build();
+    }
+
+    private static double percent(long part, long total) {
+        return Math.round(part * 1000.0 / total) / 10.0;
+    }
+}
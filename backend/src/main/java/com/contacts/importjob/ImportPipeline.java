@@ -0,0 +1,304 @@
+package com.contacts.importjob;
+
+import com.contacts.dto.BatchItemResult;
+import com.contacts.dto.BatchUpsertResponse;
+import com.contacts.entity.Contact;
+import com.contacts.exception.DuplicatePhoneException;
+import com.contacts.exception.ValidationException;
+import com.contacts.service.ContactService;
+import com.contacts.utils.ExcelContactReader;
+import com.contacts.validation.ContactValidator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Excel 导入流水线：解析 → 校验、去重 → 分批插入（或按号码合并）
+ * 三个阶段各占一个线程，阶段之间通过有界队列按批传递数据；下游处理不过来时上游阻塞（背压），
+ * 因此无论文件多大，内存中最多只有约 2 × (queueCapacity + 1) 批数据。
+ * 任一阶段出错时其余阶段随之停止，任务标记为失败
+ */
+@Slf4j
+public class ImportPipeline {
+
+    // 队列结束标记，按引用比较
+    private static final List<ImportRow> END = new ArrayList<>(0);
+
+    // 队列阻塞时检查其他阶段是否已失败的间隔
+    private static final long POLL_MILLIS = 200;
+
+    private final ImportJob job;
+
+    private final Path file;
+
+    private final ContactValidator contactValidator;
+
+    private final ContactService contactService;
+
+    private final int chunkSize;
+
+    private final Executor executor;
+
+    // 解析 → 校验
+    private final BlockingQueue<List<ImportRow>> parsedChunks;
+
+    // 校验 → 插入
+    private final BlockingQueue<List<ImportRow>> checkedChunks;
+
+    // 第一个失败阶段的异常
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public ImportPipeline(ImportJob job, Path file, ContactValidator contactValidator, ContactService contactService,
+                          int chunkSize, int queueCapacity, Executor executor) {
+        this.job = job;
+        this.file = file;
+        this.contactValidator = contactValidator;
+        this.contactService = contactService;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        this.parsedChunks = new ArrayBlockingQueue<>(queueCapacity);
+        this.checkedChunks = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * 运行流水线直到完成或失败，结束后删除导入文件
+     * 解析和插入阶段在 executor 中运行，校验阶段在当前线程运行
+     */
+    public void run() {
+        job.start();
+        log.info("导入任务 {} 开始: {}", job.getId(), job.getFilename());
+        try {
+            CompletableFuture<Void> parse = CompletableFuture.runAsync(() -> runStage(this::parse), executor);
+            CompletableFuture<Void> insert = CompletableFuture.runAsync(() -> runStage(this::insert), executor);
+            runStage(this::check);
+            CompletableFuture.allOf(parse, insert).join();
+
+            Throwable error = failure.get();
+            if (error == null) {
+                job.complete();
+                log.info("导入任务 {} 完成: {}", job.getId(), job.toStatus());
+            } else {
+                job.fail(error.getMessage());
+                log.error("导入任务 {} 失败", job.getId(), error);
+            }
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.error("导入任务 {} 失败", job.getId(), e);
+        } finally {
+            deleteFile();
+        }
+    }
+
+    /**
+     * 解析阶段：逐行读取 Excel，按批放入队列
+     */
+    private void parse() throws Exception {
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ExcelContactReader.read(file, job::setEstimatedRows, (contact, rowNumber) -> {
+            job.rowRead();
+            chunk.add(new ImportRow(rowNumber, contact));
+            if (chunk.size() == chunkSize) {
+                put(parsedChunks, new ArrayList<>(chunk));
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            put(parsedChunks, chunk);
+        }
+        job.parseCompleted();
+        put(parsedChunks, END);
+    }
+
+    /**
+     * 校验、去重阶段
+     * 先校验整批记录，再用任务内的号码集合剔除文件内重复的行，
+     * 最后对剩余号码做一次批量存在性检查，每批只查询一次数据库（合并模式跳过这一步）
+     */
+    private void check() {
+        // 号码 -> 首次出现的行号，覆盖整个任务
+        Map<String, Integer> firstRowByPhone = new HashMap<>();
+        for (List<ImportRow> chunk = take(parsedChunks); chunk != END; chunk = take(parsedChunks)) {
+            Map<String, ImportRow> candidates = new LinkedHashMap<>();
+            for (ImportRow row : chunk) {
+                Map<String, String> violations = contactValidator.check(row.contact);
+                if (!violations.isEmpty()) {
+                    job.invalid(row.rowNumber, row.contact, ContactValidator.describe(violations));
+                    continue;
+                }
+                String phone = row.contact.getPhone();
+                Integer firstRow = firstRowByPhone.putIfAbsent(phone, row.rowNumber);
+                if (firstRow != null) {
+                    job.duplicate(row.rowNumber, row.contact, "电话号码与第 " + firstRow + " 行重复: " + phone);
+                    continue;
+                }
+                candidates.put(phone, row);
+            }
+
+            // 合并模式下已存在的号码由插入阶段更新，不需要查询
+            Set<String> existing = job.getMode() == ImportJob.Mode.UPSERT
+                    ? Set.of() : contactService.findExistingPhones(candidates.keySet());
+            List<ImportRow> accepted = new ArrayList<>(candidates.size());
+            for (Map.Entry<String, ImportRow> entry : candidates.entrySet()) {
+                ImportRow row = entry.getValue();
+                if (existing.contains(entry.getKey())) {
+                    job.duplicate(row.rowNumber, row.contact, "电话号码已存在: " + entry.getKey());
+                } else {
+                    accepted.add(row);
+                }
+            }
+            if (!accepted.isEmpty()) {
+                put(checkedChunks, accepted);
+            }
+        }
+        put(checkedChunks, END);
+    }
+
+    /**
+     * 插入阶段：每批在一个事务中批量插入或合并，整批失败时逐行重试以定位出错的行
+     */
+    private void insert() {
+        for (List<ImportRow> chunk = take(checkedChunks); chunk != END; chunk = take(checkedChunks)) {
+            List<Contact> contacts = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                contacts.add(row.contact);
+            }
+            try {
+                if (job.getMode() == ImportJob.Mode.UPSERT) {
+                    recordUpsert(chunk, contactService.upsertContacts(contacts));
+                } else {
+                    contactService.insertContacts(contacts);
+                    job.inserted(contacts.size());
+                }
+            } catch (RuntimeException e) {
+                log.warn("导入任务 {} 批量写入失败，逐行重试: {}", job.getId(), e.getMessage());
+                insertOneByOne(chunk);
+            }
+        }
+    }
+
+    private void insertOneByOne(List<ImportRow> chunk) {
+        for (ImportRow row : chunk) {
+            try {
+                if (job.getMode() == ImportJob.Mode.UPSERT) {
+                    recordUpsert(List.of(row), contactService.upsertContacts(List.of(row.contact)));
+                } else {
+                    contactService.createContact(row.contact);
+                    job.inserted(1);
+                }
+            } catch (DuplicatePhoneException e) {
+                job.duplicate(row.rowNumber, row.contact, e.getMessage());
+            } catch (ValidationException e) {
+                job.invalid(row.rowNumber, row.contact, e.getMessage());
+            } catch (RuntimeException e) {
+                job.failed(row.rowNumber, row.contact, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 按合并结果逐行计数
+     */
+    private void recordUpsert(List<ImportRow> chunk, BatchUpsertResponse response) {
+        for (BatchItemResult item : response.getItems()) {
+            ImportRow row = chunk.get(item.getIndex());
+            switch (item.getStatus()) {
+                case CREATED -> job.inserted(1);
+                case UPDATED -> job.updated(1);
+                case UNCHANGED -> job.unchanged(1);
+                case DUPLICATE -> job.duplicate(row.rowNumber, row.contact, item.getMessage());
+                case INVALID -> job.invalid(row.rowNumber, row.contact, item.getMessage());
+            }
+        }
+    }
+
+    private void runStage(Stage stage) {
+        try {
+            stage.run();
+        } catch (PipelineAbortedException e) {
+            // 其他阶段已失败
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private void put(BlockingQueue<List<ImportRow>> queue, List<ImportRow> chunk) {
+        try {
+            while (!queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                checkNotFailed();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineAbortedException();
+        }
+    }
+
+    private List<ImportRow> take(BlockingQueue<List<ImportRow>> queue) {
+        try {
+            List<ImportRow> chunk;
+            while ((chunk = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+                checkNotFailed();
+            }
+            return chunk;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PipelineAbortedException();
+        }
+    }
+
+    private void checkNotFailed() {
+        if (failure.get() != null) {
+            throw new PipelineAbortedException();
+        }
+    }
+
+    private void deleteFile() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (Exception e) {
+            log.warn("删除导入文件失败: {}", file, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /**
+     * Excel 中的一行
+     */
+    private static final class ImportRow {
+
+        private final int rowNumber;
+
+        private final Contact contact;
+
+        private ImportRow(int rowNumber, Contact contact) {
+            this.rowNumber = rowNumber;
+            this.contact = contact;
+        }
+    }
+
+    /**
+     * 其他阶段已失败，当前阶段停止
+     */
+    private static final class PipelineAbortedException extends RuntimeException {
+
+        private PipelineAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.contacts.metrics;
+
+import com.contacts.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * ContactService 方法计时
+ * 每个方法记录到 contacts.service 计时器，标签 operation 为方法名（重载方法合并统计），
+ * outcome 为 SUCCESS、CLIENT_ERROR（业务异常，如联系人不存在、校验失败）或 SERVER_ERROR。
+ * 启用缓存时请求先经过 CachingContactService 再调用 ContactServiceImpl，只有最外层的调用计时，
+ * 缓存命中也计入；优先级高于事务切面，耗时包含事务提交。
+ * streamAllContacts 的耗时包含调用方处理每个联系人的时间
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ContactServiceMetricsAspect {
+
+    static final String TIMER_NAME = "contacts.service";
+
+    // 当前线程是否已在计时的 ContactService 调用中
+    private static final ThreadLocal<Boolean> TIMING = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* com.contacts.service.ContactService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TIMING.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        TIMING.set(Boolean.TRUE);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "SUCCESS";
+        try {
+            return joinPoint.proceed();
+        } catch (BusinessException e) {
+            outcome = "CLIENT_ERROR";
+            throw e;
+        } catch (Throwable e) {
+            outcome = "SERVER_ERROR";
+            throw e;
+        } finally {
+            TIMING.remove();
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("ContactService 方法耗时")
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
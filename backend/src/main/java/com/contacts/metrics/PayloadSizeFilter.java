@@ -0,0 +1,215 @@
+package com.contacts.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按接口记录请求体和响应体大小
+ * http.server.request.size 取请求的 Content-Length（分块传输的请求不记录），
+ * http.server.response.size 统计实际写出的字节数（压缩前）；
+ * 标签 method、uri（接口路径模板）、outcome 与 http.server.requests 一致，可以按接口关联耗时和大小。
+ * 流式导出、SSE 等异步请求在异步处理结束时记录
+ */
+@Component
+@RequiredArgsConstructor
+public class PayloadSizeFilter extends OncePerRequestFilter {
+
+    // 大小分布的区间上界（字节）：1KB、10KB、100KB、1MB、10MB
+    private static final double[] SIZE_BUCKETS = {1024, 10 * 1024, 100 * 1024, 1024 * 1024, 10 * 1024 * 1024};
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CountingResponse countingResponse = new CountingResponse(response);
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new RecordOnComplete(request, countingResponse));
+            } else {
+                countingResponse.flushWriter();
+                record(request, countingResponse);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String outcome = Outcome.forStatus(response.getStatus()).name();
+
+        long requestSize = request.getContentLengthLong();
+        if (requestSize >= 0) {
+            summary("http.server.request.size", "请求体大小", request.getMethod(), uri, outcome).record(requestSize);
+        }
+        summary("http.server.response.size", "响应体大小", request.getMethod(), uri, outcome)
+                .record(response.getBytesWritten());
+    }
+
+    private DistributionSummary summary(String name, String description, String method, String uri, String outcome) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tag("method", method)
+                .tag("uri", uri)
+                .tag("outcome", outcome)
+                .serviceLevelObjectives(SIZE_BUCKETS)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 异步请求结束（完成、超时或出错）时记录一次
+     */
+    private class RecordOnComplete implements AsyncListener {
+
+        private final HttpServletRequest request;
+
+        private final CountingResponse response;
+
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        RecordOnComplete(HttpServletRequest request, CountingResponse response) {
+            this.request = request;
+            this.response = response;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (recorded.compareAndSet(false, true)) {
+                record(request, response);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // 超时后容器仍会触发 onComplete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // 出错后容器仍会触发 onComplete
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * 统计写出字节数的响应包装，写入的内容直接传给原响应，不做缓存
+     */
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private final AtomicLong bytesWritten = new AtomicLong();
+
+        private ServletOutputStream outputStream;
+
+        private PrintWriter writer;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        long getBytesWritten() {
+            return bytesWritten.get();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CountingOutputStream(super.getOutputStream(), bytesWritten);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        /**
+         * 把 getWriter 编码缓冲中的内容写出，请求处理结束时调用
+         */
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private final AtomicLong bytesWritten;
+
+        CountingOutputStream(ServletOutputStream delegate, AtomicLong bytesWritten) {
+            this.delegate = delegate;
+            this.bytesWritten = bytesWritten;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            bytesWritten.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            bytesWritten.addAndGet(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.contacts.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.http.Outcome;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * 按接口记录每个请求发出的 SQL 语句数
+ * 记录到 contacts.request.sql.statements，标签 method、uri、outcome 与 http.server.requests 一致。
+ * 只统计请求线程上的语句，流式导出、SSE 等在其他线程中执行的查询不计入
+ */
+@Component
+@RequiredArgsConstructor
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    // 请求开始时当前线程的累计语句数
+    static final String START_ATTRIBUTE = SqlStatementCountFilter.class.getName() + ".start";
+
+    // 语句数分布的区间上界
+    private static final double[] COUNT_BUCKETS = {1, 2, 3, 5, 10, 20, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 请求开始以来当前线程发出的语句数，不在请求中时返回 -1
+     */
+    static long statementsSinceStart(HttpServletRequest request) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        return start instanceof Long value ? SqlStatementCounter.current() - value : -1;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(START_ATTRIBUTE, SqlStatementCounter.current());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("contacts.request.sql.statements")
+                    .description("每个请求发出的 SQL 语句数")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .tag("outcome", Outcome.forStatus(response.getStatus()).name())
+                    .serviceLevelObjectives(COUNT_BUCKETS)
+                    .register(meterRegistry)
+                    .record(statementsSinceStart(request));
+        }
+    }
+}
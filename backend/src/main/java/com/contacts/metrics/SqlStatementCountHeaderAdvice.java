@@ -0,0 +1,41 @@
+package com.contacts.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 在响应头 X-SQL-Statement-Count 中返回本次请求发出的 SQL 语句数，便于开发时发现 N+1 查询
+ * 在写出响应体之前设置，此时接口的查询已经完成（open-in-view 关闭，序列化时不会再查询）；
+ * 没有响应体的响应（如 304）和流式响应不带此响应头。只在 contacts.sql.statement-count-header=true 时启用
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "contacts.sql.statement-count-header", havingValue = "true")
+public class SqlStatementCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            long statements = SqlStatementCountFilter.statementsSinceStart(servletRequest.getServletRequest());
+            if (statements >= 0) {
+                response.getHeaders().set(HEADER, Long.toString(statements));
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,74 @@
+package com.contacts.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * 统计 Hibernate 发出的 SQL 语句数
+ * 作为 StatementInspector 注册到 Hibernate（包括 JPQL、派生查询和原生查询），每准备一条语句计数一次，
+ * JDBC 批量执行的一批语句只准备一次；ContactUpsertRepository 通过 JdbcTemplate 执行，不在统计范围内。
+ * 按线程累计，调用方在操作前后各取一次 current() 相减即得到该操作的语句数；
+ * 同时按语句类型（select / insert / update / delete / merge / other）记录到 contacts.sql.statements 计数器
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENTS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter merges;
+    private final Counter others;
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        this.selects = counter(meterRegistry, "select");
+        this.inserts = counter(meterRegistry, "insert");
+        this.updates = counter(meterRegistry, "update");
+        this.deletes = counter(meterRegistry, "delete");
+        this.merges = counter(meterRegistry, "merge");
+        this.others = counter(meterRegistry, "other");
+    }
+
+    /**
+     * 当前线程累计发出的语句数
+     */
+    public static long current() {
+        return STATEMENTS.get()[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        counterFor(sql).increment();
+        return sql;
+    }
+
+    private Counter counterFor(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return switch (statement.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> selects;
+            case "insert" -> inserts;
+            case "update" -> updates;
+            case "delete" -> deletes;
+            case "merge" -> merges;
+            default -> others;
+        };
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("contacts.sql.statements")
+                .description("Hibernate 发出的 SQL 语句数")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
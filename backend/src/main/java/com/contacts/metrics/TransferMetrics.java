@@ -0,0 +1,79 @@
+package com.contacts.metrics;
+
+import com.contacts.dto.ImportJobStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 导入、导出的行数和失败次数计数器
+ * contacts.import.rows：导入的行数，标签 operation（job 异步任务 / excel 同步导入）和
+ * outcome（inserted / updated / unchanged / invalid / duplicate / failed）；
+ * contacts.export.rows：导出的行数，标签 operation（stream / memory）；
+ * contacts.import.errors、contacts.export.errors：整个导入、导出失败的次数，标签 operation
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferMetrics {
+
+    public static final String IMPORT_JOB = "job";
+    public static final String IMPORT_EXCEL = "excel";
+    public static final String EXPORT_STREAM = "stream";
+    public static final String EXPORT_MEMORY = "memory";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 按导入任务结束时的状态记录各类行数，任务失败时同时记录一次导入失败
+     */
+    public void recordImportJob(ImportJobStatus status) {
+        recordImport(IMPORT_JOB, status.getInsertedRows(), status.getUpdatedRows(), status.getUnchangedRows(),
+                status.getInvalidRows(), status.getDuplicateRows(), status.getFailedRows());
+        if ("FAILED".equals(status.getStatus())) {
+            recordImportError(IMPORT_JOB);
+        }
+    }
+
+    public void recordImport(String operation, long inserted, long updated, long unchanged,
+                             long invalid, long duplicate, long failed) {
+        importRows(operation, "inserted").increment(inserted);
+        importRows(operation, "updated").increment(updated);
+        importRows(operation, "unchanged").increment(unchanged);
+        importRows(operation, "invalid").increment(invalid);
+        importRows(operation, "duplicate").increment(duplicate);
+        importRows(operation, "failed").increment(failed);
+    }
+
+    public void recordImportError(String operation) {
+        Counter.builder("contacts.import.errors")
+                .description("失败的导入次数")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void recordExport(String operation, long rows) {
+        Counter.builder("contacts.export.rows")
+                .description("导出的联系人行数")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+
+    public void recordExportError(String operation) {
+        Counter.builder("contacts.export.errors")
+                .description("失败的导出次数")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Counter importRows(String operation, String outcome) {
+        return Counter.builder("contacts.import.rows")
+                .description("导入的行数")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.contacts.repository;
+
+import com.contacts.entity.AvatarBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 头像存储记录数据访问接口
+ */
+@Repository
+public interface AvatarBlobRepository extends JpaRepository<AvatarBlob, String> {
+}
@@ -1,12 +1,24 @@
 package com.contacts.repository;
 
+import com.contacts.dto.ContactSummary;
 import com.contacts.entity.Contact;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 联系人数据访问接口
@@ -15,6 +27,17 @@ import java.util.List;
 @Repository
 public interface ContactRepository extends JpaRepository<Contact, Long> {
 
+    /**
+     * 流式查询时每次从数据库抓取的行数
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * 列表项投影的查询前缀，只选择 ContactSummary 需要的列，不读取 avatar 大字段
+     */
+    String SUMMARY_SELECT = "SELECT new com.contacts.dto.ContactSummary(c.id, c.name, c.phone, c.company, " +
+            "c.bookmarked, c.updatedTime, c.avatarHash) FROM Contact c ";
+
     /**
      * 根据姓名模糊查询联系人
      * Spring Data JPA 会自动实现这个方法
@@ -103,4 +126,290 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
      */
     @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM Contact c WHERE c.phone = :phone AND c.id != :id")
     boolean existsByPhoneAndIdNot(@Param("phone") String phone, @Param("id") Long id);
+
+    /**
+     * 键集分页：按ID升序读取指定ID之后的联系人
+     * 通过主键索引直接定位，不使用 OFFSET，翻页深度不影响查询耗时
+     * @param afterId 上一页最后一条记录的ID（第一页传0）
+     * @param pageable 只使用其中的 pageSize 作为读取条数
+     * @return 联系人列表
+     */
+    @Query("SELECT c FROM Contact c WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<Contact> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 键集分页：按姓名排序的第一页
+     * @param pageable 只使用其中的 pageSize 作为读取条数
+     * @return 联系人列表
+     */
+    @Query("SELECT c FROM Contact c ORDER BY c.name ASC, c.id ASC")
+    List<Contact> findFirstPageOrderByName(Pageable pageable);
+
+    /**
+     * 键集分页：按 (姓名, ID) 排序读取指定位置之后的联系人
+     * 依赖 idx_contacts_name_id 复合索引
+     * @param name 上一页最后一条记录的姓名
+     * @param afterId 上一页最后一条记录的ID
+     * @param pageable 只使用其中的 pageSize 作为读取条数
+     * @return 联系人列表
+     */
+    @Query("SELECT c FROM Contact c WHERE c.name > :name OR (c.name = :name AND c.id > :afterId) " +
+            "ORDER BY c.name ASC, c.id ASC")
+    List<Contact> findPageAfterName(@Param("name") String name, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 按ID顺序流式读取所有联系人
+     * 通过 JDBC fetch size 分批从数据库抓取，实体以只读方式加载，不做脏检查快照；
+     * 必须在事务内使用并在使用完毕后关闭 Stream
+     * @return 联系人流
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM Contact c ORDER BY c.id ASC")
+    Stream<Contact> streamAllOrderById();
+
+    /**
+     * 查询所有联系人的列表项
+     * @return 列表项
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY c.id ASC")
+    List<ContactSummary> findAllSummaries();
+
+    /**
+     * 查询收藏联系人的列表项
+     * @return 列表项
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.bookmarked = true ORDER BY c.id ASC")
+    List<ContactSummary> findBookmarkedSummaries();
+
+    /**
+     * 搜索姓名、电话或邮箱包含关键词的联系人列表项
+     * @param keyword 搜索关键词
+     * @return 列表项
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.name LIKE %:keyword% OR c.phone LIKE %:keyword% OR c.email LIKE %:keyword% " +
+            "ORDER BY c.id ASC")
+    List<ContactSummary> searchSummariesByNameOrPhoneOrEmail(@Param("keyword") String keyword);
+
+    /**
+     * 根据ID批量查询联系人列表项
+     * @param ids 联系人ID
+     * @return 按ID升序排列的列表项
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids ORDER BY c.id ASC")
+    List<ContactSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 根据ID批量查询联系人
+     * @param ids 联系人ID
+     * @return 按ID升序排列的联系人
+     */
+    List<Contact> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    /**
+     * 键集分页（列表项）：按ID升序读取指定ID之后的联系人
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.id > :afterId ORDER BY c.id ASC")
+    List<ContactSummary> findSummaryPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 键集分页（列表项）：按姓名排序的第一页
+     */
+    @Query(SUMMARY_SELECT + "ORDER BY c.name ASC, c.id ASC")
+    List<ContactSummary> findSummaryFirstPageOrderByName(Pageable pageable);
+
+    /**
+     * 键集分页（列表项）：按 (姓名, ID) 排序读取指定位置之后的联系人
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.name > :name OR (c.name = :name AND c.id > :afterId) " +
+            "ORDER BY c.name ASC, c.id ASC")
+    List<ContactSummary> findSummaryPageAfterName(@Param("name") String name, @Param("afterId") Long afterId,
+                                                  Pageable pageable);
+
+    /**
+     * 只读取联系人头像引用
+     * @param id 联系人ID
+     * @return 头像 hash，尚未迁移的旧数据返回内联的 data URL；联系人不存在或没有头像时为空
+     */
+    @Query("SELECT COALESCE(c.avatarHash, c.avatar) FROM Contact c WHERE c.id = :id")
+    Optional<String> findAvatarRefById(@Param("id") Long id);
+
+    /**
+     * 按更新时间键集分页查询变更的联系人（用于增量同步）
+     * @param updatedTime 上一页最后一条记录的更新时间
+     * @param afterId 上一页最后一条记录的ID，更新时间相同时从该ID之后继续
+     * @param pageable 只使用其中的 pageSize 作为读取条数
+     * @return 按更新时间、ID升序排列的联系人
+     */
+    @Query("SELECT c FROM Contact c WHERE c.updatedTime > :updatedTime " +
+            "OR (c.updatedTime = :updatedTime AND c.id > :afterId) ORDER BY c.updatedTime ASC, c.id ASC")
+    List<Contact> findChangedAfter(@Param("updatedTime") LocalDateTime updatedTime, @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    /**
+     * 只读取联系人的更新时间（用于条件请求）
+     * @param id 联系人ID
+     * @return 更新时间，联系人不存在或没有更新时间时为空
+     */
+    @Query("SELECT c.updatedTime FROM Contact c WHERE c.id = :id")
+    Optional<LocalDateTime> findUpdatedTimeById(@Param("id") Long id);
+
+    /**
+     * 读取联系人并加行锁，事务结束前其他事务不能修改该联系人
+     * @param id 联系人ID
+     * @return 联系人
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Contact c WHERE c.id = :id")
+    Optional<Contact> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * 查询仍以 base64 内联保存头像的联系人（用于迁移）
+     * @param afterId 上一批最后一条记录的ID
+     * @param pageable 只使用其中的 pageSize 作为读取条数
+     * @return 联系人列表
+     */
+    @Query("SELECT c FROM Contact c WHERE c.id > :afterId AND c.avatar IS NOT NULL ORDER BY c.id ASC")
+    List<Contact> findInlineAvatarPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 将联系人的内联头像替换为头像存储引用，不修改更新时间
+     * @param id 联系人ID
+     * @param avatarHash 头像 hash
+     * @return 更新的行数
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Contact c SET c.avatarHash = :avatarHash, c.avatar = NULL WHERE c.id = :id")
+    int moveAvatarToStore(@Param("id") Long id, @Param("avatarHash") String avatarHash);
+
+    /**
+     * 设置联系人的收藏状态，已是目标状态的记录不更新
+     * @param id 联系人ID
+     * @param bookmarked 目标收藏状态
+     * @param now 更新时间
+     * @return 更新的行数，联系人不存在或已是目标状态时为0
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Contact c SET c.bookmarked = :bookmarked, c.updatedTime = :now " +
+            "WHERE c.id = :id AND c.bookmarked <> :bookmarked")
+    int updateBookmarked(@Param("id") Long id, @Param("bookmarked") boolean bookmarked,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * 在一条语句中切换收藏状态，并发切换不会丢失更新
+     * @param id 联系人ID
+     * @param now 更新时间
+     * @return 更新的行数，联系人不存在时为0
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Contact c SET c.bookmarked = CASE WHEN c.bookmarked = true THEN false ELSE true END, " +
+            "c.updatedTime = :now WHERE c.id = :id")
+    int toggleBookmarked(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * 查询其中仍存在的联系人ID并加行锁，事务结束前其他事务不能修改或删除这些联系人（调用方负责分块）
+     * @param ids 联系人ID
+     * @return 按ID升序排列的存在的联系人ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Contact c WHERE c.id IN :ids ORDER BY c.id ASC")
+    List<Long> findIdsForUpdateByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询其中收藏状态不是 bookmarked 的联系人ID并加行锁（调用方负责分块）
+     * @param ids 联系人ID
+     * @param bookmarked 目标收藏状态
+     * @return 按ID升序排列的需要更新的联系人ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c.id FROM Contact c WHERE c.id IN :ids AND c.bookmarked <> :bookmarked ORDER BY c.id ASC")
+    List<Long> findIdsForUpdateByIdInAndBookmarkedNot(@Param("ids") Collection<Long> ids,
+                                                      @Param("bookmarked") boolean bookmarked);
+
+    /**
+     * 批量设置收藏状态（调用方负责分块）
+     * @param ids 联系人ID
+     * @param bookmarked 目标收藏状态
+     * @param now 更新时间
+     * @return 更新的行数，不含不存在或已是目标状态的联系人
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Contact c SET c.bookmarked = :bookmarked, c.updatedTime = :now " +
+            "WHERE c.id IN :ids AND c.bookmarked <> :bookmarked")
+    int updateBookmarkedIn(@Param("ids") Collection<Long> ids, @Param("bookmarked") boolean bookmarked,
+                           @Param("now") LocalDateTime now);
+
+    /**
+     * 按ID删除联系人，不先加载实体
+     * @param id 联系人ID
+     * @return 删除的行数，联系人不存在时为0
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Contact c WHERE c.id = :id")
+    int deleteContactById(@Param("id") Long id);
+
+    /**
+     * 批量删除联系人（调用方负责分块）
+     * @param ids 联系人ID
+     * @return 删除的行数，不含不存在的ID
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM Contact c WHERE c.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 流式读取所有联系人的搜索字段（用于构建内存搜索索引）
+     * @return 搜索字段流，必须在事务内使用并关闭
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id AS id, c.name AS name, c.phone AS phone, c.email AS email, " +
+            "c.namePinyin AS namePinyin, c.nameInitials AS nameInitials FROM Contact c")
+    Stream<SearchFields> streamSearchFields();
+
+    /**
+     * 查询已存在的电话号码
+     * @param phones 待检查的电话号码
+     * @return 其中已存在的号码
+     */
+    @Query("SELECT c.phone FROM Contact c WHERE c.phone IN :phones")
+    List<String> findExistingPhones(@Param("phones") Collection<String> phones);
+
+    /**
+     * 根据电话号码批量查询联系人（导入合并模式使用，调用方负责分块）
+     */
+    List<Contact> findByPhoneIn(Collection<String> phones);
+
+    /**
+     * 流式读取所有联系人的电话号码（用于构建号码过滤器）
+     * @return 号码流，必须在事务内使用并关闭
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.phone FROM Contact c")
+    Stream<String> streamAllPhones();
+
+    /**
+     * 搜索字段投影
+     */
+    interface SearchFields {
+        Long getId();
+
+        String getName();
+
+        String getPhone();
+
+        String getEmail();
+
+        String getNamePinyin();
+
+        String getNameInitials();
+    }
 }
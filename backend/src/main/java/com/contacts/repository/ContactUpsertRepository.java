@@ -0,0 +1,169 @@
+package com.contacts.repository;
+
+import com.contacts.entity.Contact;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按电话号码合并联系人（导入的 upsert 模式）
+ * 号码不存在时插入，存在且导入的字段有变化时更新，字段未变化的行不写入。
+ * H2 使用 MERGE INTO ... USING，PostgreSQL 使用 INSERT ... ON CONFLICT (phone) DO UPDATE，
+ * 均以 JDBC 批量方式执行。新行的ID通过 Hibernate 的序列生成器分配，与 pooled 优化器共用同一序列区间。
+ * 不是 Spring Data 仓库，每次批量合并的耗时记录到 contacts.upsert 计时器，标签 outcome 为 SUCCESS 或 ERROR
+ */
+@Slf4j
+@Repository
+public class ContactUpsertRepository {
+
+    private static final String H2_MERGE =
+            "MERGE INTO contacts t USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(100)), " +
+            "CAST(? AS VARCHAR(800)), CAST(? AS VARCHAR(100)), CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(100)), " +
+            "CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(200)), CAST(? AS VARCHAR(100)), " +
+            "CAST(? AS BOOLEAN), CAST(? AS VARCHAR(64)), CAST(? AS TIMESTAMP))) " +
+            "AS s(id, name, name_pinyin, name_initials, phone, email, wechat, qq, address, company, " +
+            "bookmarked, avatar_hash, now_time) ON t.phone = s.phone " +
+            "WHEN MATCHED AND (t.name, t.email, t.wechat, t.qq, t.address, t.company, t.bookmarked) " +
+            "IS DISTINCT FROM (s.name, s.email, s.wechat, s.qq, s.address, s.company, s.bookmarked) THEN UPDATE SET " +
+            "name = s.name, name_pinyin = s.name_pinyin, name_initials = s.name_initials, email = s.email, " +
+            "wechat = s.wechat, qq = s.qq, address = s.address, company = s.company, " +
+            "bookmarked = s.bookmarked, updated_time = s.now_time " +
+            "WHEN NOT MATCHED THEN INSERT (id, name, name_pinyin, name_initials, phone, email, wechat, qq, " +
+            "address, company, bookmarked, avatar_hash, created_time, updated_time) VALUES (s.id, s.name, " +
+            "s.name_pinyin, s.name_initials, s.phone, s.email, s.wechat, s.qq, s.address, s.company, " +
+            "s.bookmarked, s.avatar_hash, s.now_time, s.now_time)";
+
+    private static final String POSTGRES_UPSERT =
+            "INSERT INTO contacts AS t (id, name, name_pinyin, name_initials, phone, email, wechat, qq, " +
+            "address, company, bookmarked, avatar_hash, created_time, updated_time) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (phone) DO UPDATE SET " +
+            "name = EXCLUDED.name, name_pinyin = EXCLUDED.name_pinyin, name_initials = EXCLUDED.name_initials, " +
+            "email = EXCLUDED.email, wechat = EXCLUDED.wechat, qq = EXCLUDED.qq, address = EXCLUDED.address, " +
+            "company = EXCLUDED.company, bookmarked = EXCLUDED.bookmarked, updated_time = EXCLUDED.updated_time " +
+            "WHERE (t.name, t.email, t.wechat, t.qq, t.address, t.company, t.bookmarked) " +
+            "IS DISTINCT FROM (EXCLUDED.name, EXCLUDED.email, EXCLUDED.wechat, EXCLUDED.qq, " +
+            "EXCLUDED.address, EXCLUDED.company, EXCLUDED.bookmarked)";
+
+    private static final String TIMER_NAME = "contacts.upsert";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Timer successTimer;
+
+    private final Timer errorTimer;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    public ContactUpsertRepository(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.successTimer = timer(meterRegistry, "SUCCESS");
+        this.errorTimer = timer(meterRegistry, "ERROR");
+    }
+
+    /**
+     * 批量合并联系人，必须在事务中调用
+     * 没有ID的联系人视为新行并分配ID；写入前会根据姓名重新生成拼音列，并设置创建、更新时间
+     * @param contacts 已校验的联系人，号码互不相同
+     * @param batchSize 每个 JDBC 批次的语句数
+     */
+    public void upsert(List<Contact> contacts, int batchSize) {
+        if (contacts.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = Contact.currentTimestamp();
+        for (Contact contact : contacts) {
+            if (contact.getId() == null) {
+                contact.setId(nextId(contact));
+                contact.setCreatedTime(now);
+            }
+            contact.setUpdatedTime(now);
+            contact.refreshNameKeys();
+        }
+
+        boolean isPostgres = isPostgres();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            jdbcTemplate.batchUpdate(isPostgres ? POSTGRES_UPSERT : H2_MERGE, contacts, batchSize,
+                    (ps, contact) -> bind(ps, contact, isPostgres));
+            success = true;
+        } finally {
+            (success ? successTimer : errorTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("批量合并联系人（MERGE / ON CONFLICT）耗时")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static void bind(PreparedStatement ps, Contact contact, boolean isPostgres) throws SQLException {
+        Timestamp now = Timestamp.valueOf(contact.getUpdatedTime());
+        int i = 1;
+        ps.setLong(i++, contact.getId());
+        ps.setString(i++, contact.getName());
+        ps.setString(i++, contact.getNamePinyin());
+        ps.setString(i++, contact.getNameInitials());
+        ps.setString(i++, contact.getPhone());
+        ps.setString(i++, contact.getEmail());
+        ps.setString(i++, contact.getWechat());
+        ps.setString(i++, contact.getQq());
+        ps.setString(i++, contact.getAddress());
+        ps.setString(i++, contact.getCompany());
+        ps.setBoolean(i++, Boolean.TRUE.equals(contact.getBookmarked()));
+        if (contact.getAvatarHash() != null) {
+            ps.setString(i++, contact.getAvatarHash());
+        } else {
+            ps.setNull(i++, Types.VARCHAR);
+        }
+        ps.setTimestamp(i++, now);
+        if (isPostgres) {
+            ps.setTimestamp(i, now);
+        }
+    }
+
+    /**
+     * 通过实体的ID生成器分配ID，与 persist 使用同一个 pooled 序列区间
+     */
+    private Long nextId(Contact contact) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        BeforeExecutionGenerator generator = (BeforeExecutionGenerator)
+                session.getEntityPersister(Contact.class.getName(), contact).getGenerator();
+        return (Long) generator.generate(session, contact, null, EventType.INSERT);
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.execute((Connection connection) -> connection.getMetaData()
+                    .getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres"));
+            postgres = result;
+            log.info("联系人合并使用 {} 语句", result ? "INSERT ... ON CONFLICT" : "MERGE");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,45 @@
+package com.contacts.repository;
+
+import com.contacts.entity.DeletedContact;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 已删除联系人记录数据访问接口
+ */
+@Repository
+public interface DeletedContactRepository extends JpaRepository<DeletedContact, Long> {
+
+    /**
+     * 为仍存在的联系人写入删除记录，必须在删除联系人之前、同一事务中执行（调用方负责分块）
+     * @param ids 要删除的联系人ID
+     * @param now 删除时间
+     * @return 写入的记录数，即其中实际存在的联系人数量
+     */
+    @Modifying
+    @Query("INSERT INTO DeletedContact (id, deletedTime) " +
+            "SELECT c.id, CAST(:now AS LocalDateTime) FROM Contact c WHERE c.id IN :ids")
+    int insertForContacts(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 查询在 since 之后删除的联系人ID
+     */
+    @Query("SELECT d.id FROM DeletedContact d WHERE d.deletedTime > :since ORDER BY d.deletedTime ASC, d.id ASC")
+    List<Long> findIdsDeletedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * 清理过期的删除记录
+     * @param before 早于该时间的记录被删除
+     * @return 删除的记录数
+     */
+    @Modifying
+    @Query("DELETE FROM DeletedContact d WHERE d.deletedTime < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
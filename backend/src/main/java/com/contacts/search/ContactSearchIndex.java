@@ -0,0 +1,223 @@
+package com.contacts.search;
+
+import com.contacts.entity.Contact;
+import com.contacts.event.ContactChangedEvent;
+import com.contacts.repository.ContactRepository;
+import com.contacts.utils.PinyinUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 联系人姓名、电话、邮箱的内存子串搜索索引，以及姓名拼音/首字母的前缀索引
+ * 启动完成后从数据库全量构建，之后随 ContactChangedEvent 在写事务内同步更新，
+ * 事务回滚时撤销对应的变更。索引只存在于当前进程，多实例部署时各实例分别维护。
+ * 构建完成前 search 返回空，调用方应退回数据库查询
+ */
+@Slf4j
+@Component
+public class ContactSearchIndex {
+
+    private final ContactRepository contactRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TrigramIndex index = new TrigramIndex();
+
+    private final PinyinPrefixIndex pinyinIndex = new PinyinPrefixIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    public ContactSearchIndex(ContactRepository contactRepository, PlatformTransactionManager transactionManager) {
+        this.contactRepository = contactRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 从数据库全量构建索引
+     * 构建期间持有写锁，并发的写操作会等待构建完成后再更新索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            clearAll();
+            Boolean complete = readOnlyTransaction.execute(status -> {
+                try (Stream<ContactRepository.SearchFields> rows = contactRepository.streamSearchFields()) {
+                    return rows.allMatch(row -> {
+                        if (!isIndexable(row.getId())) {
+                            return false;
+                        }
+                        int id = row.getId().intValue();
+                        index.put(id, row.getName(), row.getPhone(), row.getEmail());
+                        if (row.getNamePinyin() != null) {
+                            pinyinIndex.put(id, row.getNamePinyin(), row.getNameInitials());
+                        } else {
+                            // 拼音列上线前保存的数据，在内存中计算
+                            putPinyin(id, row.getName());
+                        }
+                        return true;
+                    });
+                }
+            });
+            if (Boolean.TRUE.equals(complete)) {
+                ready = true;
+                log.info("联系人搜索索引构建完成，共 {} 个联系人，耗时 {} ms",
+                        index.size(), System.currentTimeMillis() - start);
+            } else {
+                clearAll();
+                log.warn("联系人ID超出索引范围，搜索将使用数据库查询");
+            }
+        } catch (Exception e) {
+            clearAll();
+            log.error("联系人搜索索引构建失败，搜索将使用数据库查询", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索姓名、电话或邮箱包含关键词，或姓名拼音/首字母以关键词开头的联系人
+     * @param keyword 关键词（已去除首尾空格）
+     * @return 按ID升序排列的联系人ID；索引不可用时为空
+     */
+    public Optional<List<Long>> search(String keyword) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int[] ids = index.search(keyword);
+            if (PinyinUtil.isPinyinQuery(keyword)) {
+                ids = union(ids, pinyinIndex.search(PinyinUtil.normalizeQuery(keyword)));
+            }
+            return Optional.of(Arrays.stream(ids).mapToObj(id -> (long) id).toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 随联系人变更同步更新索引，事务未提交成功时撤销
+     */
+    @EventListener
+    public void onContactChanged(ContactChangedEvent event) {
+        if (event.getType() == ContactChangedEvent.Type.BOOKMARKED) {
+            return;
+        }
+        if (!isIndexable(event.getContactId())) {
+            // 超出范围的ID从未进入索引，删除时无需处理
+            if (event.getType() == ContactChangedEvent.Type.DELETED) {
+                return;
+            }
+            ready = false;
+            log.warn("联系人ID {} 超出索引范围，搜索将使用数据库查询", event.getContactId());
+            return;
+        }
+
+        int id = event.getContactId().intValue();
+        String previous;
+        String[] previousPinyin;
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == ContactChangedEvent.Type.DELETED) {
+                previous = index.remove(id);
+                previousPinyin = pinyinIndex.remove(id);
+            } else {
+                Contact contact = event.getContact();
+                previous = index.put(id, contact.getName(), contact.getPhone(), contact.getEmail());
+                // 更新时拼音列要到 flush 时才重新生成，这里直接由姓名计算
+                previousPinyin = putPinyin(id, contact.getName());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(id, previous, previousPinyin);
+                    }
+                }
+            });
+        }
+    }
+
+    private void restore(int id, String previous, String[] previousPinyin) {
+        lock.writeLock().lock();
+        try {
+            index.restore(id, previous);
+            pinyinIndex.restore(id, previousPinyin);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String[] putPinyin(int id, String name) {
+        PinyinUtil.NameKeys keys = PinyinUtil.of(name);
+        return pinyinIndex.put(id, keys.getPinyin(), keys.getInitials());
+    }
+
+    private void clearAll() {
+        index.clear();
+        pinyinIndex.clear();
+    }
+
+    /**
+     * 合并两个升序且不重复的ID数组
+     */
+    private static int[] union(int[] a, int[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        if (a.length == 0) {
+            return b;
+        }
+        int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[count++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[count++] = b[j++];
+            } else {
+                result[count++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[count++] = a[i++];
+        }
+        while (j < b.length) {
+            result[count++] = b[j++];
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static boolean isIndexable(Long id) {
+        return id != null && id > 0 && id <= Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,138 @@
+package com.contacts.search;
+
+import com.contacts.utils.PinyinUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 姓名拼音的前缀索引
+ * 对每个姓名，从每个音节开始分别取全拼和首字母的后缀作为键，例如“张三丰”生成
+ * zhangsanfeng、sanfeng、feng、zsf、sf、f；查询时在有序的键上按前缀取范围，
+ * 因此 "zhangs"、"san"、"zs" 都能命中。
+ * 本类不是线程安全的，由调用方加锁
+ */
+public class PinyinPrefixIndex {
+
+    private final TreeMap<String, IntPostingList> postings = new TreeMap<>();
+
+    // 文档ID -> 该文档的全部键，用于删除和撤销
+    private final Map<Integer, String[]> documents = new HashMap<>();
+
+    public int size() {
+        return documents.size();
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    /**
+     * 新增或替换文档
+     * @param id 文档ID
+     * @param pinyin 以空格分隔音节的全拼，可以为空
+     * @param initials 首字母，可以为空
+     * @return 替换前的键，新文档返回 null
+     */
+    public String[] put(int id, String pinyin, String initials) {
+        return putKeys(id, keysOf(pinyin, initials));
+    }
+
+    /**
+     * 删除文档
+     * @param id 文档ID
+     * @return 删除前的键，不存在时返回 null
+     */
+    public String[] remove(int id) {
+        String[] previous = documents.remove(id);
+        if (previous != null) {
+            for (String key : previous) {
+                IntPostingList list = postings.get(key);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * 恢复文档到指定的键（用于事务回滚后撤销变更）
+     * @param id 文档ID
+     * @param keys put/remove 返回的键，为 null 表示文档原本不存在
+     */
+    public void restore(int id, String[] keys) {
+        if (keys == null) {
+            remove(id);
+        } else {
+            putKeys(id, keys);
+        }
+    }
+
+    /**
+     * 搜索任一键以指定前缀开头的文档
+     * @param prefix 归一化后的拼音或首字母（小写，无空格）
+     * @return 按ID升序排列的文档ID
+     */
+    public int[] search(String prefix) {
+        if (prefix.isEmpty()) {
+            return new int[0];
+        }
+        NavigableMap<String, IntPostingList> range =
+                postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        if (range.isEmpty()) {
+            return new int[0];
+        }
+
+        int total = 0;
+        for (IntPostingList list : range.values()) {
+            total += list.size();
+        }
+        int[] ids = new int[total];
+        int count = 0;
+        for (IntPostingList list : range.values()) {
+            for (int i = 0; i < list.size(); i++) {
+                ids[count++] = list.get(i);
+            }
+        }
+        return Arrays.stream(ids).sorted().distinct().toArray();
+    }
+
+    private String[] putKeys(int id, String[] keys) {
+        String[] previous = remove(id);
+        if (keys.length > 0) {
+            documents.put(id, keys);
+            for (String key : keys) {
+                postings.computeIfAbsent(key, k -> new IntPostingList()).add(id);
+            }
+        }
+        return previous;
+    }
+
+    private static String[] keysOf(String pinyin, String initials) {
+        Set<String> keys = new LinkedHashSet<>();
+        if (pinyin != null && !pinyin.isEmpty()) {
+            String[] syllables = pinyin.split(PinyinUtil.SYLLABLE_SEPARATOR);
+            StringBuilder suffix = new StringBuilder();
+            for (int i = syllables.length - 1; i >= 0; i--) {
+                suffix.insert(0, syllables[i]);
+                keys.add(suffix.toString());
+            }
+        }
+        if (initials != null) {
+            for (int i = 0; i < initials.length(); i++) {
+                keys.add(initials.substring(i));
+            }
+        }
+        return keys.toArray(new String[0]);
+    }
+}
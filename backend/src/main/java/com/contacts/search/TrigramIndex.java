@@ -0,0 +1,181 @@
+package com.contacts.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * 子串搜索用的三元组（trigram）倒排索引
+ * 每个文档由若干字段组成，按小写形式拆成连续三个字符的片段建立倒排列表；
+ * 查询时对关键词的所有片段求交集得到候选，再用原文 contains 校验去除误匹配。
+ * 搜索框最常见的一、两个字符的输入（如中文姓氏、名字）无法拆出三元组，
+ * 因此同时为单个字符和相邻两个字符建立倒排列表，其列表即为精确结果，不需要逐个校验；
+ * 代价是倒排列表的条目数约为只建三元组时的三倍。
+ * 本类不是线程安全的，由调用方加锁
+ */
+public class TrigramIndex {
+
+    // 字段之间的分隔符，跨字段的片段不会与关键词匹配
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int GRAM_LENGTH = 3;
+
+    // 单字符、双字符片段的标记位，与占用低48位的三元组区分
+    private static final long UNIGRAM = 2L << 48;
+    private static final long BIGRAM = 1L << 48;
+
+    private final Map<Long, IntPostingList> postings = new HashMap<>();
+
+    // 文档ID -> 归一化后的文本，用于校验候选和删除旧片段
+    private final Map<Integer, String> documents = new HashMap<>();
+
+    public int size() {
+        return documents.size();
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    /**
+     * 新增或替换文档
+     * @param id 文档ID
+     * @param fields 参与搜索的字段，为空的字段会被忽略
+     * @return 替换前的归一化文本，新文档返回 null
+     */
+    public String put(int id, String... fields) {
+        return putNormalized(id, normalize(fields));
+    }
+
+    /**
+     * 删除文档
+     * @param id 文档ID
+     * @return 删除前的归一化文本，不存在时返回 null
+     */
+    public String remove(int id) {
+        String previous = documents.remove(id);
+        if (previous != null) {
+            forEachGram(previous, gram -> {
+                IntPostingList list = postings.get(gram);
+                if (list != null) {
+                    list.remove(id);
+                    if (list.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            });
+        }
+        return previous;
+    }
+
+    /**
+     * 恢复文档到指定的归一化文本（用于事务回滚后撤销变更）
+     * @param id 文档ID
+     * @param normalizedText put/remove 返回的文本，为 null 表示文档原本不存在
+     */
+    public void restore(int id, String normalizedText) {
+        if (normalizedText == null) {
+            remove(id);
+        } else {
+            putNormalized(id, normalizedText);
+        }
+    }
+
+    /**
+     * 搜索任一字段包含关键词（忽略大小写）的文档
+     * @param keyword 关键词
+     * @return 按ID升序排列的文档ID
+     */
+    public int[] search(String keyword) {
+        String query = keyword.toLowerCase(Locale.ROOT);
+        if (query.isEmpty() || query.indexOf(FIELD_SEPARATOR) >= 0) {
+            return new int[0];
+        }
+        if (query.length() < GRAM_LENGTH) {
+            IntPostingList list = postings.get(pack(query, 0, query.length()));
+            return list == null ? new int[0] : list.toArray();
+        }
+
+        List<IntPostingList> lists = new ArrayList<>();
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            IntPostingList list = postings.get(pack(query, i, GRAM_LENGTH));
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntPostingList::size));
+
+        IntPostingList smallest = lists.get(0);
+        int[] result = new int[smallest.size()];
+        int count = 0;
+        for (int i = 0; i < smallest.size(); i++) {
+            int id = smallest.get(i);
+            if (containsInAll(lists, id) && documents.get(id).contains(query)) {
+                result[count++] = id;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private String putNormalized(int id, String text) {
+        String previous = remove(id);
+        documents.put(id, text);
+        forEachGram(text, gram -> postings.computeIfAbsent(gram, key -> new IntPostingList()).add(id));
+        return previous;
+    }
+
+    private static boolean containsInAll(List<IntPostingList> lists, int id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String... fields) {
+        StringBuilder builder = new StringBuilder();
+        for (String field : fields) {
+            if (field == null || field.isEmpty()) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(FIELD_SEPARATOR);
+            }
+            builder.append(field.toLowerCase(Locale.ROOT));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 依次给出文本中所有不跨字段的单字符、双字符和三字符片段
+     */
+    private static void forEachGram(String text, LongConsumer consumer) {
+        for (int i = 0; i < text.length(); i++) {
+            for (int length = 1; length <= GRAM_LENGTH && i + length <= text.length(); length++) {
+                if (text.charAt(i + length - 1) == FIELD_SEPARATOR) {
+                    break;
+                }
+                consumer.accept(pack(text, i, length));
+            }
+        }
+    }
+
+    /**
+     * 将一到三个字符压缩为一个 long（每个字符16位），单字符、双字符片段带标记位
+     */
+    private static long pack(String text, int offset, int length) {
+        return switch (length) {
+            case 1 -> UNIGRAM | text.charAt(offset);
+            case 2 -> BIGRAM | ((long) text.charAt(offset) << 16) | text.charAt(offset + 1);
+            default -> ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16)
+                    | text.charAt(offset + 2);
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.contacts.service;
+
+import com.contacts.entity.AvatarBlob;
+
+import java.util.Optional;
+
+/**
+ * 头像存储业务接口
+ * 头像按内容的 SHA-256 寻址，相同图片只存储一次
+ */
+public interface AvatarService {
+
+    /**
+     * 保存头像图片
+     * @param bytes 图片内容
+     * @param contentType 图片类型，如 image/png
+     * @return 头像元数据（hash 即引用标识）
+     * @throws com.contacts.exception.ValidationException 当图片为空、过大或不是图片类型时抛出异常
+     */
+    AvatarBlob store(byte[] bytes, String contentType);
+
+    /**
+     * 保存 data URL 格式的头像（兼容前端直接提交 base64 的方式）
+     * @param dataUrl 如 data:image/png;base64,xxxx
+     * @return 头像 hash
+     */
+    String storeDataUrl(String dataUrl);
+
+    /**
+     * 判断头像是否存在
+     * @param hash 头像 hash
+     * @return 如果存在返回true，否则返回false
+     */
+    boolean exists(String hash);
+
+    /**
+     * 获取头像元数据
+     * @param hash 头像 hash
+     * @return 头像元数据
+     */
+    Optional<AvatarBlob> find(String hash);
+
+    /**
+     * 读取头像内容
+     * @param blob 头像元数据
+     * @return 图片内容
+     */
+    Optional<byte[]> readContent(AvatarBlob blob);
+
+    /**
+     * 将仍以 base64 内联在 contacts.avatar 列中的旧头像迁移到头像存储
+     * @return 迁移的联系人数量
+     */
+    int migrateInlineAvatars();
+}
@@ -1,7 +1,18 @@
 package com.contacts.service;
 
+import com.contacts.dto.BatchCreateResponse;
+import com.contacts.dto.BatchUpsertResponse;
+import com.contacts.dto.BulkBookmarkResponse;
+import com.contacts.dto.BulkDeleteResponse;
+import com.contacts.dto.ContactSummary;
+import com.contacts.dto.CursorPage;
 import com.contacts.entity.Contact;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * 联系人业务逻辑接口
@@ -15,6 +26,60 @@ public interface ContactService {
      */
     List<Contact> getAllContacts();
 
+    /**
+     * 游标分页获取联系人
+     * @param sort 排序方式（id 或 name），为空时默认按 id
+     * @param after 起始ID或上一页返回的游标，为空表示第一页
+     * @param limit 每页数量，为空时使用默认值
+     * @return 当前页数据及下一页游标
+     * @throws com.contacts.exception.ValidationException 当参数或游标无效时抛出异常
+     */
+    CursorPage<Contact> getContactsPage(String sort, String after, Integer limit);
+
+    /**
+     * 获取所有联系人的列表项（不含头像等大字段）
+     * @return 列表项
+     */
+    List<ContactSummary> getAllContactSummaries();
+
+    /**
+     * 获取收藏联系人的列表项
+     * @return 列表项
+     */
+    List<ContactSummary> getBookmarkedContactSummaries();
+
+    /**
+     * 搜索联系人，返回列表项
+     * @param keyword 搜索关键词（姓名、电话、邮箱）
+     * @return 匹配的列表项
+     */
+    List<ContactSummary> searchContactSummaries(String keyword);
+
+    /**
+     * 游标分页获取联系人列表项
+     * @param sort 排序方式（id 或 name），为空时默认按 id
+     * @param after 起始ID或上一页返回的游标，为空表示第一页
+     * @param limit 每页数量，为空时使用默认值
+     * @return 当前页数据及下一页游标
+     */
+    CursorPage<ContactSummary> getContactSummaryPage(String sort, String after, Integer limit);
+
+    /**
+     * 获取联系人头像
+     * @param id 联系人ID
+     * @return 头像访问地址；尚未迁移到头像存储的旧数据返回内联的 data URL
+     * @throws com.contacts.exception.ContactNotFoundException 当联系人不存在或没有头像时抛出异常
+     */
+    String getContactAvatar(Long id);
+
+    /**
+     * 按ID顺序流式遍历所有联系人，内存占用与联系人总数无关
+     * 回调返回后该联系人即与持久化上下文分离，不能再用于延迟加载或修改
+     * @param consumer 每读取一个联系人回调一次
+     * @return 遍历的联系人数量
+     */
+    long streamAllContacts(Consumer<Contact> consumer);
+
     /**
      * 获取收藏的联系人列表
      * @return 收藏的联系人列表
@@ -29,6 +94,13 @@ public interface ContactService {
      */
     Contact getContactById(Long id);
 
+    /**
+     * 获取联系人的更新时间，用于条件请求，不加载整个联系人
+     * @param id 联系人ID
+     * @return 更新时间，联系人不存在或没有更新时间（旧数据）时为空
+     */
+    Optional<LocalDateTime> getContactUpdatedTime(Long id);
+
     /**
      * 创建新联系人
      * @param contact 联系人信息
@@ -37,6 +109,36 @@ public interface ContactService {
      */
     Contact createContact(Contact contact);
 
+    /**
+     * 批量创建联系人
+     * 校验失败或号码重复的记录单独返回失败结果，其余记录在同一事务中批量插入
+     * @param contacts 联系人列表
+     * @return 与请求一一对应的处理结果
+     * @throws com.contacts.exception.ValidationException 列表为空或超过单次上限时抛出异常
+     */
+    BatchCreateResponse createContacts(List<Contact> contacts);
+
+    /**
+     * 批量插入已经校验并去重的联系人（导入任务使用）
+     * 在同一事务中按 JDBC 批次插入，号码被并发写入时整批回滚
+     * @param contacts 联系人列表
+     * @return 插入后的联系人ID，与参数顺序一致
+     * @throws com.contacts.exception.DuplicatePhoneException 违反号码唯一约束时抛出异常
+     */
+    List<Long> insertContacts(List<Contact> contacts);
+
+    /**
+     * 按电话号码批量合并联系人
+     * 号码不存在的记录新增；已存在且导入的字段有变化的记录更新；没有变化的记录不写数据库。
+     * 合并而不是替换：为 null 的字段（空单元格、缺少的列、JSON 中的 null）保留原值，因此无法通过合并清空字段；
+     * JSON 请求中省略 bookmarked 时按实体默认值 false 处理，需要保留收藏状态时应显式传 null。
+     * 头像只在新增时保存，不参与合并
+     * @param contacts 联系人列表
+     * @return 与请求一一对应的处理结果，以及新增、更新、未变化的数量
+     * @throws com.contacts.exception.ValidationException 列表为空或超过单次上限时抛出异常
+     */
+    BatchUpsertResponse upsertContacts(List<Contact> contacts);
+
     /**
      * 更新联系人信息
      * @param id 联系人ID
@@ -46,6 +148,16 @@ public interface ContactService {
      */
     Contact updateContact(Long id, Contact contact);
 
+    /**
+     * 带条件地更新联系人信息（乐观并发控制）
+     * @param id 联系人ID
+     * @param contact 更新的联系人信息
+     * @param ifMatch If-Match 请求头，为空时不检查；否则必须与联系人当前的 ETag 匹配
+     * @return 更新后的联系人对象
+     * @throws com.contacts.exception.PreconditionFailedException 联系人已被修改、ETag 不匹配时抛出异常
+     */
+    Contact updateContact(Long id, Contact contact, String ifMatch);
+
     /**
      * 删除联系人
      * @param id 联系人ID
@@ -53,9 +165,17 @@ public interface ContactService {
      */
     void deleteContact(Long id);
 
+    /**
+     * 批量删除联系人，在同一事务中按块执行 DELETE ... WHERE id IN (...)
+     * @param ids 联系人ID，重复的ID只处理一次，不存在的ID忽略
+     * @return 请求数量和实际删除的数量
+     * @throws com.contacts.exception.ValidationException 列表为空、超过单次上限或包含无效ID时抛出异常
+     */
+    BulkDeleteResponse deleteContacts(Collection<Long> ids);
+
     /**
      * 搜索联系人
-     * @param keyword 搜索关键词（姓名、电话）
+     * @param keyword 搜索关键词（姓名、电话、邮箱）
      * @return 匹配的联系人列表
      */
     List<Contact> searchContacts(String keyword);
@@ -89,6 +209,14 @@ public interface ContactService {
      */
     boolean isPhoneExists(String phone, Long excludeId);
 
+    /**
+     * 批量检查电话号码是否已存在
+     * 先经过号码过滤器，可能存在的号码再按块用 IN 查询确认，查询次数与号码数量/块大小成正比
+     * @param phones 规范化后的电话号码
+     * @return 其中已存在的号码
+     */
+    Set<String> findExistingPhones(Collection<String> phones);
+
     /**
      * 收藏联系人
      * @param id 联系人ID
@@ -112,4 +240,13 @@ public interface ContactService {
      * @throws RuntimeException 当联系人不存在时抛出异常
      */
     Contact toggleBookmark(Long id);
+
+    /**
+     * 批量设置收藏状态，所有联系人在一条（超过块大小时按块分为多条）UPDATE 语句中更新
+     * @param ids 联系人ID，重复的ID只处理一次，不存在的ID忽略
+     * @param bookmarked true 收藏，false 取消收藏
+     * @return 请求数量和实际发生变化的数量
+     * @throws com.contacts.exception.ValidationException 列表为空、超过单次上限或包含无效ID时抛出异常
+     */
+    BulkBookmarkResponse setBookmarked(Collection<Long> ids, Boolean bookmarked);
 }
@@ -0,0 +1,26 @@
+package com.contacts.service;
+
+import com.contacts.dto.ContactChanges;
+
+/**
+ * 联系人增量同步接口
+ */
+public interface ContactSyncService {
+
+    /**
+     * 获取水位线之后新增、修改和删除的联系人
+     * 返回量与变更数量成正比，与联系人总数无关
+     * @param since 上一次同步返回的 nextToken，为空表示首次同步（返回全部联系人）
+     * @param limit 每次最多返回的联系人数量，为空时使用默认值
+     * @return 变更的联系人、已删除的联系人ID及下一次同步的令牌
+     * @throws com.contacts.exception.ValidationException 令牌或参数无效时抛出异常
+     * @throws com.contacts.exception.SyncTokenExpiredException 令牌早于删除记录的保留时长时抛出异常
+     */
+    ContactChanges getChanges(String since, Integer limit);
+
+    /**
+     * 清理超过保留时长的删除记录
+     * @return 清理的记录数
+     */
+    int purgeExpiredTombstones();
+}
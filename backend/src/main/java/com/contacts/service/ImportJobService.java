@@ -0,0 +1,31 @@
+package com.contacts.service;
+
+import com.contacts.dto.ImportJobStatus;
+import com.contacts.importjob.ImportJob;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * 异步导入任务业务接口
+ */
+public interface ImportJobService {
+
+    /**
+     * 提交 Excel 导入任务
+     * 上传文件先保存为临时文件，任务在后台运行，立即返回任务状态
+     * @param file 上传的 .xlsx 文件
+     * @param mode 只新增，或按电话号码合并
+     * @return 新任务的状态
+     * @throws com.contacts.exception.ImportJobRejectedException 同时运行的任务已达上限时抛出异常
+     */
+    ImportJobStatus submitExcelImport(MultipartFile file, ImportJob.Mode mode) throws IOException;
+
+    /**
+     * 查询导入任务状态
+     * @param id 任务ID
+     * @return 任务状态，任务不存在或已过期时为空
+     */
+    Optional<ImportJobStatus> getJobStatus(String id);
+}
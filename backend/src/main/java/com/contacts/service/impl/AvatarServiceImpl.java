@@ -0,0 +1,152 @@
+package com.contacts.service.impl;
+
+import com.contacts.entity.AvatarBlob;
+import com.contacts.entity.Contact;
+import com.contacts.exception.ValidationException;
+import com.contacts.repository.AvatarBlobRepository;
+import com.contacts.repository.ContactRepository;
+import com.contacts.service.AvatarService;
+import com.contacts.storage.AvatarStorage;
+import com.contacts.utils.AvatarUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 头像存储业务实现类
+ */
+@Slf4j
+@Service
+@Transactional
+public class AvatarServiceImpl implements AvatarService {
+
+    // 迁移旧头像时每批处理的联系人数量
+    static final int MIGRATION_BATCH_SIZE = 100;
+
+    private final AvatarBlobRepository avatarBlobRepository;
+
+    private final ContactRepository contactRepository;
+
+    private final AvatarStorage avatarStorage;
+
+    // 迁移时每条记录的保存和更新在各自的事务中执行
+    private final TransactionTemplate transaction;
+
+    public AvatarServiceImpl(AvatarBlobRepository avatarBlobRepository, ContactRepository contactRepository,
+                             AvatarStorage avatarStorage, PlatformTransactionManager transactionManager) {
+        this.avatarBlobRepository = avatarBlobRepository;
+        this.contactRepository = contactRepository;
+        this.avatarStorage = avatarStorage;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 保存头像图片，内容已存在时直接返回已有记录
+     */
+    @Override
+    public AvatarBlob store(byte[] bytes, String contentType) {
+        if (bytes == null || bytes.length == 0) {
+            throw new ValidationException("头像内容不能为空");
+        }
+        if (bytes.length > AvatarBlob.MAX_SIZE) {
+            throw new ValidationException("头像大小不能超过" + AvatarBlob.MAX_SIZE / 1024 + "KB");
+        }
+        if (contentType == null || !contentType.toLowerCase().startsWith("image/")) {
+            throw new ValidationException("头像必须是图片格式");
+        }
+
+        String hash = sha256(bytes);
+        Optional<AvatarBlob> existing = avatarBlobRepository.findById(hash);
+        if (existing.isPresent()) {
+            log.debug("Service: 头像已存在，hash: {}", hash);
+            return existing.get();
+        }
+
+        AvatarBlob blob = new AvatarBlob();
+        blob.setHash(hash);
+        blob.setContentType(contentType.toLowerCase());
+        blob.setSize((long) bytes.length);
+        avatarStorage.write(blob, bytes);
+        AvatarBlob saved = avatarBlobRepository.save(blob);
+        log.info("Service: 成功保存头像，hash: {}，大小: {} 字节", hash, bytes.length);
+        return saved;
+    }
+
+    @Override
+    public String storeDataUrl(String dataUrl) {
+        AvatarUtil.DecodedImage image = AvatarUtil.decodeDataUrl(dataUrl);
+        return store(image.getBytes(), image.getContentType()).getHash();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean exists(String hash) {
+        return AvatarUtil.isValidHash(hash) && avatarBlobRepository.existsById(hash);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<AvatarBlob> find(String hash) {
+        if (!AvatarUtil.isValidHash(hash)) {
+            return Optional.empty();
+        }
+        return avatarBlobRepository.findById(hash);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<byte[]> readContent(AvatarBlob blob) {
+        return avatarStorage.read(blob);
+    }
+
+    /**
+     * 按ID顺序分批迁移，每条记录单独提交，不修改联系人的更新时间
+     * 方法本身不在事务中，每条记录的保存头像和更新联系人通过 TransactionTemplate 在同一个事务中执行；
+     * 无法解析的旧头像保留原样并记录日志
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int migrateInlineAvatars() {
+        int migrated = 0;
+        long lastId = 0L;
+        while (true) {
+            List<Contact> batch = contactRepository.findInlineAvatarPage(lastId,
+                    PageRequest.of(0, MIGRATION_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (Contact contact : batch) {
+                lastId = contact.getId();
+                try {
+                    transaction.executeWithoutResult(status ->
+                            contactRepository.moveAvatarToStore(contact.getId(), storeDataUrl(contact.getAvatar())));
+                    migrated++;
+                } catch (ValidationException e) {
+                    log.warn("Service: 旧头像无法迁移，ID: {}，原因: {}", contact.getId(), e.getMessage());
+                }
+            }
+        }
+        if (migrated > 0) {
+            log.info("Service: 成功迁移 {} 个联系人的内联头像", migrated);
+        }
+        return migrated;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
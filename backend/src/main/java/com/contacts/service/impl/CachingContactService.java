@@ -0,0 +1,300 @@
+package com.contacts.service.impl;
+
+import com.contacts.dto.BatchCreateResponse;
+import com.contacts.dto.BatchUpsertResponse;
+import com.contacts.dto.BulkBookmarkResponse;
+import com.contacts.dto.BulkDeleteResponse;
+import com.contacts.dto.ContactCacheStats;
+import com.contacts.dto.ContactSummary;
+import com.contacts.dto.CursorPage;
+import com.contacts.entity.Contact;
+import com.contacts.event.ContactChangedEvent;
+import com.contacts.service.ContactService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 带联系人详情缓存的 ContactService
+ * 包装 ContactServiceImpl：按ID获取联系人时先查进程内缓存（Caffeine，W-TinyLFU 淘汰，按容量和写入后时长限制），
+ * 单个联系人的修改、收藏、删除成功后使对应条目失效，下次读取时从数据库加载；其他写操作（批量合并、导入等）
+ * 在事务提交后根据 ContactChangedEvent 使对应条目失效。
+ * 写操作不把结果写入缓存：并发的两次修改可能以相反顺序返回，写入会让较旧的结果覆盖较新的条目；
+ * 失效与正在进行的加载互斥（Caffeine 等待加载结束后再移除），不会留下旧数据。
+ * 缓存只在事务之外使用，调用方已有事务时直接访问数据库，避免读到或缓存未提交的数据。
+ * 多实例部署时其他实例的修改不会通知到本实例，过期时长即为最大的不一致时间。
+ * 返回的联系人对象在多个请求之间共享，调用方不能修改
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "contacts.cache.enabled", havingValue = "true")
+public class CachingContactService implements ContactService {
+
+    private final ContactService delegate;
+
+    private final Cache<Long, Contact> cache;
+
+    private final long maximumSize;
+
+    private final Duration expireAfterWrite;
+
+    public CachingContactService(@Qualifier("contactServiceImpl") ContactService delegate,
+                                 @Value("${contacts.cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${contacts.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        log.info("已启用联系人缓存，容量: {}，写入后过期: {}", maximumSize, expireAfterWrite);
+    }
+
+    // ========== 使用缓存的操作 ==========
+
+    @Override
+    public Contact getContactById(Long id) {
+        if (id == null || id <= 0 || inTransaction()) {
+            return delegate.getContactById(id);
+        }
+        // 联系人不存在时加载抛出异常，不会缓存
+        return cache.get(id, delegate::getContactById);
+    }
+
+    /**
+     * 缓存中有该联系人时直接使用其更新时间，条件请求不访问数据库
+     */
+    @Override
+    public Optional<LocalDateTime> getContactUpdatedTime(Long id) {
+        Contact cached = cachedContact(id);
+        return cached != null ? Optional.ofNullable(cached.getUpdatedTime()) : delegate.getContactUpdatedTime(id);
+    }
+
+    @Override
+    public Contact createContact(Contact contact) {
+        return delegate.createContact(contact);
+    }
+
+    @Override
+    public Contact updateContact(Long id, Contact contact) {
+        return evict(delegate.updateContact(id, contact));
+    }
+
+    @Override
+    public Contact updateContact(Long id, Contact contact, String ifMatch) {
+        return evict(delegate.updateContact(id, contact, ifMatch));
+    }
+
+    @Override
+    public void deleteContact(Long id) {
+        delegate.deleteContact(id);
+        cache.invalidate(id);
+    }
+
+    /**
+     * 提交后由变更事件使被删除的条目失效
+     */
+    @Override
+    public BulkDeleteResponse deleteContacts(Collection<Long> ids) {
+        return delegate.deleteContacts(ids);
+    }
+
+    /**
+     * 缓存中的联系人已经是收藏状态时直接返回，不访问数据库
+     */
+    @Override
+    public Contact bookmarkContact(Long id) {
+        Contact cached = cachedContact(id);
+        if (cached != null && Boolean.TRUE.equals(cached.getBookmarked())) {
+            log.debug("Service: 联系人已经是收藏状态（缓存），ID: {}", id);
+            return cached;
+        }
+        return evict(delegate.bookmarkContact(id));
+    }
+
+    /**
+     * 缓存中的联系人已经是不收藏状态时直接返回，不访问数据库
+     */
+    @Override
+    public Contact unbookmarkContact(Long id) {
+        Contact cached = cachedContact(id);
+        if (cached != null && Boolean.FALSE.equals(cached.getBookmarked())) {
+            log.debug("Service: 联系人已经是不收藏状态（缓存），ID: {}", id);
+            return cached;
+        }
+        return evict(delegate.unbookmarkContact(id));
+    }
+
+    @Override
+    public Contact toggleBookmark(Long id) {
+        return evict(delegate.toggleBookmark(id));
+    }
+
+    /**
+     * 批量更新不读取联系人，提交后由变更事件使对应条目失效
+     */
+    @Override
+    public BulkBookmarkResponse setBookmarked(Collection<Long> ids, Boolean bookmarked) {
+        return delegate.setBookmarked(ids, bookmarked);
+    }
+
+    /**
+     * 事务提交后使被修改、删除的联系人失效；未使用事务发布的事件立即处理
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContactChanged(ContactChangedEvent event) {
+        if (event.getType() != ContactChangedEvent.Type.CREATED && event.getContactId() != null) {
+            cache.invalidate(event.getContactId());
+        }
+    }
+
+    /**
+     * 缓存的命中率、淘汰次数等指标
+     */
+    public ContactCacheStats getStats() {
+        CacheStats stats = cache.stats();
+        return ContactCacheStats.builder()
+                .enabled(true)
+                .maximumSize(maximumSize)
+                .expireAfterWriteSeconds(expireAfterWrite.toSeconds())
+                .estimatedSize(cache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadFailureCount(stats.loadFailureCount())
+                .evictionCount(stats.evictionCount())
+                .averageLoadPenaltyMillis(stats.averageLoadPenalty() / 1_000_000.0)
+                .build();
+    }
+
+    // ========== 直接委托的操作 ==========
+
+    @Override
+    public List<Contact> getAllContacts() {
+        return delegate.getAllContacts();
+    }
+
+    @Override
+    public CursorPage<Contact> getContactsPage(String sort, String after, Integer limit) {
+        return delegate.getContactsPage(sort, after, limit);
+    }
+
+    @Override
+    public List<ContactSummary> getAllContactSummaries() {
+        return delegate.getAllContactSummaries();
+    }
+
+    @Override
+    public List<ContactSummary> getBookmarkedContactSummaries() {
+        return delegate.getBookmarkedContactSummaries();
+    }
+
+    @Override
+    public List<ContactSummary> searchContactSummaries(String keyword) {
+        return delegate.searchContactSummaries(keyword);
+    }
+
+    @Override
+    public CursorPage<ContactSummary> getContactSummaryPage(String sort, String after, Integer limit) {
+        return delegate.getContactSummaryPage(sort, after, limit);
+    }
+
+    @Override
+    public String getContactAvatar(Long id) {
+        return delegate.getContactAvatar(id);
+    }
+
+    @Override
+    public long streamAllContacts(Consumer<Contact> consumer) {
+        return delegate.streamAllContacts(consumer);
+    }
+
+    @Override
+    public List<Contact> getBookmarkedContacts() {
+        return delegate.getBookmarkedContacts();
+    }
+
+    @Override
+    public BatchCreateResponse createContacts(List<Contact> contacts) {
+        return delegate.createContacts(contacts);
+    }
+
+    @Override
+    public List<Long> insertContacts(List<Contact> contacts) {
+        return delegate.insertContacts(contacts);
+    }
+
+    @Override
+    public BatchUpsertResponse upsertContacts(List<Contact> contacts) {
+        return delegate.upsertContacts(contacts);
+    }
+
+    @Override
+    public List<Contact> searchContacts(String keyword) {
+        return delegate.searchContacts(keyword);
+    }
+
+    @Override
+    public List<Contact> searchContactsByName(String name) {
+        return delegate.searchContactsByName(name);
+    }
+
+    @Override
+    public List<Contact> searchContactsByPhone(String phone) {
+        return delegate.searchContactsByPhone(phone);
+    }
+
+    @Override
+    public boolean isPhoneExists(String phone) {
+        return delegate.isPhoneExists(phone);
+    }
+
+    @Override
+    public boolean isPhoneExists(String phone, Long excludeId) {
+        return delegate.isPhoneExists(phone, excludeId);
+    }
+
+    @Override
+    public Set<String> findExistingPhones(Collection<String> phones) {
+        return delegate.findExistingPhones(phones);
+    }
+
+    // ========== 私有辅助方法 ==========
+
+    private static boolean inTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive();
+    }
+
+    private Contact cachedContact(Long id) {
+        return id == null || inTransaction() ? null : cache.getIfPresent(id);
+    }
+
+    /**
+     * 写操作完成后使该联系人的条目失效，返回写操作的结果
+     */
+    private Contact evict(Contact contact) {
+        if (contact != null && contact.getId() != null) {
+            cache.invalidate(contact.getId());
+        }
+        return contact;
+    }
+}
@@ -1,18 +1,58 @@
 package com.contacts.service.impl;
 
+import com.contacts.dedupe.PhoneExistenceFilter;
+import com.contacts.dto.BatchCreateResponse;
+import com.contacts.dto.BatchItemResult;
+import com.contacts.dto.BatchUpsertResponse;
+import com.contacts.dto.BulkBookmarkResponse;
+import com.contacts.dto.BulkDeleteResponse;
+import com.contacts.dto.ContactCursor;
+import com.contacts.dto.ContactSummary;
+import com.contacts.dto.CursorPage;
 import com.contacts.entity.Contact;
+import com.contacts.event.ContactChangedEvent;
 import com.contacts.repository.ContactRepository;
+import com.contacts.repository.ContactUpsertRepository;
+import com.contacts.repository.DeletedContactRepository;
+import com.contacts.search.ContactSearchIndex;
+import com.contacts.service.AvatarService;
 import com.contacts.service.ContactService;
 import com.contacts.exception.ContactNotFoundException;
 import com.contacts.exception.DuplicatePhoneException;
+import com.contacts.exception.PreconditionFailedException;
 import com.contacts.exception.ValidationException;
+import com.contacts.utils.AvatarUtil;
+import com.contacts.utils.ETagUtil;
+import com.contacts.validation.ContactValidator;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * 联系人业务逻辑实现类
@@ -24,9 +64,43 @@ import java.util.Optional;
 @Transactional
 public class ContactServiceImpl implements ContactService {
 
+    // 分页默认每页数量与上限
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    // 流式读取时每处理多少条清理一次持久化上下文
+    static final int STREAM_CLEAR_INTERVAL = ContactRepository.STREAM_FETCH_SIZE;
+
+    // 按ID回表或检查号码时每次 IN 查询的数量
+    static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
     // 使用构造器注入 Repository
     private final ContactRepository contactRepository;
 
+    private final EntityManager entityManager;
+
+    private final AvatarService avatarService;
+
+    private final ContactSearchIndex contactSearchIndex;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final PhoneExistenceFilter phoneExistenceFilter;
+
+    private final ContactValidator contactValidator;
+
+    private final ContactUpsertRepository contactUpsertRepository;
+
+    private final DeletedContactRepository deletedContactRepository;
+
+    // 批量创建时每多少条 flush 一次，与 hibernate.jdbc.batch_size 保持一致
+    @Value("${contacts.batch.jdbc-batch-size:100}")
+    private int jdbcBatchSize;
+
+    // 批量创建单次最多接受的联系人数量
+    @Value("${contacts.batch.max-items:1000}")
+    private int maxBatchItems;
+
     /**
      * 获取所有联系人列表
      */
@@ -44,6 +118,93 @@ public class ContactServiceImpl implements ContactService {
         }
     }
 
+    /**
+     * 游标分页获取联系人
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Contact> getContactsPage(String sort, String after, Integer limit) {
+        log.info("Service: 开始分页获取联系人，sort: {}, after: {}, limit: {}", sort, after, limit);
+        return readPage(sort, after, limit,
+                contactRepository::findPageAfterId,
+                contactRepository::findFirstPageOrderByName,
+                (cursor, pageable) -> contactRepository.findPageAfterName(
+                        cursor.getLastName(), cursor.getLastId(), pageable),
+                Contact::getId, Contact::getName);
+    }
+
+    /**
+     * 游标分页获取联系人列表项
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ContactSummary> getContactSummaryPage(String sort, String after, Integer limit) {
+        log.info("Service: 开始分页获取联系人列表项，sort: {}, after: {}, limit: {}", sort, after, limit);
+        return readPage(sort, after, limit,
+                contactRepository::findSummaryPageAfterId,
+                contactRepository::findSummaryFirstPageOrderByName,
+                (cursor, pageable) -> contactRepository.findSummaryPageAfterName(
+                        cursor.getLastName(), cursor.getLastId(), pageable),
+                ContactSummary::getId, ContactSummary::getName);
+    }
+
+    /**
+     * 流式遍历所有联系人
+     * 定期清理持久化上下文，避免已处理的实体在一级缓存中堆积
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long streamAllContacts(Consumer<Contact> consumer) {
+        log.info("Service: 开始流式读取所有联系人");
+        long count = 0;
+        try (Stream<Contact> stream = contactRepository.streamAllOrderById()) {
+            Iterator<Contact> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                count++;
+                if (count % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Service: 成功流式读取 {} 个联系人", count);
+        return count;
+    }
+
+    /**
+     * 获取所有联系人的列表项
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ContactSummary> getAllContactSummaries() {
+        log.info("Service: 开始获取所有联系人列表项");
+        try {
+            List<ContactSummary> summaries = contactRepository.findAllSummaries();
+            log.info("Service: 成功获取 {} 个联系人列表项", summaries.size());
+            return summaries;
+        } catch (Exception e) {
+            log.error("Service: 获取联系人列表项失败", e);
+            throw new RuntimeException("获取联系人列表失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取收藏联系人的列表项
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ContactSummary> getBookmarkedContactSummaries() {
+        log.info("Service: 开始获取收藏的联系人列表项");
+        try {
+            List<ContactSummary> summaries = contactRepository.findBookmarkedSummaries();
+            log.info("Service: 成功获取 {} 个收藏的联系人列表项", summaries.size());
+            return summaries;
+        } catch (Exception e) {
+            log.error("Service: 获取收藏联系人列表项失败", e);
+            throw new RuntimeException("获取收藏联系人列表失败: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 获取收藏的联系人列表
      */
@@ -95,6 +256,18 @@ public class ContactServiceImpl implements ContactService {
         }
     }
 
+    /**
+     * 获取联系人的更新时间
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getContactUpdatedTime(Long id) {
+        if (id == null || id <= 0) {
+            return Optional.empty();
+        }
+        return contactRepository.findUpdatedTimeById(id);
+    }
+
     /**
      * 创建新联系人
      */
@@ -103,14 +276,17 @@ public class ContactServiceImpl implements ContactService {
         log.info("Service: 开始创建新联系人: {}", contact.getName());
 
         // 参数验证
-        validateContact(contact);
+        contactValidator.validate(contact);
 
         // 检查电话号码是否已存在
-        if (contactRepository.existsByPhone(contact.getPhone())) {
+        if (phoneExists(contact.getPhone())) {
             log.warn("Service: 电话号码已存在: {}", contact.getPhone());
             throw new DuplicatePhoneException(contact.getPhone());
         }
 
+        // 头像转存到头像存储，联系人只保存引用
+        resolveAvatar(contact);
+
         try {
             // 确保ID为null，让数据库自动生成
             contact.setId(null);
@@ -119,41 +295,227 @@ public class ContactServiceImpl implements ContactService {
                 contact.setBookmarked(false);
             }
 
-            Contact savedContact = contactRepository.save(contact);
+            Contact savedContact = contactRepository.saveAndFlush(contact);
+            eventPublisher.publishEvent(ContactChangedEvent.created(savedContact));
             log.info("Service: 成功创建联系人: {} (ID: {})", savedContact.getName(), savedContact.getId());
             return savedContact;
+        } catch (DataIntegrityViolationException e) {
+            throw duplicatePhoneOr(e, contact.getPhone());
         } catch (Exception e) {
             log.error("Service: 创建联系人失败: {}", contact.getName(), e);
             throw new RuntimeException("创建联系人失败: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * 批量创建联系人
+     * 逐条校验后用一次 IN 查询检查号码是否已存在，再在同一事务中按 JDBC 批次插入
+     */
+    @Override
+    public BatchCreateResponse createContacts(List<Contact> contacts) {
+        if (contacts == null || contacts.isEmpty()) {
+            throw new ValidationException("联系人列表不能为空");
+        }
+        if (contacts.size() > maxBatchItems) {
+            throw new ValidationException("单次最多创建 " + maxBatchItems + " 个联系人");
+        }
+        log.info("Service: 开始批量创建 {} 个联系人", contacts.size());
+        long start = System.currentTimeMillis();
+
+        BatchItemResult[] results = new BatchItemResult[contacts.size()];
+        Map<String, Integer> indexByPhone = validateBatch(contacts, results);
+
+        Set<String> existingPhones = phoneExistenceFilter.existing(indexByPhone.keySet(), this::queryExistingPhones);
+
+        List<Contact> toInsert = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : indexByPhone.entrySet()) {
+            int i = entry.getValue();
+            if (existingPhones.contains(entry.getKey())) {
+                results[i] = BatchItemResult.failed(i, BatchItemResult.Status.DUPLICATE,
+                        "电话号码已存在: " + entry.getKey());
+                continue;
+            }
+            try {
+                resolveAvatar(contacts.get(i));
+            } catch (ValidationException e) {
+                results[i] = BatchItemResult.failed(i, BatchItemResult.Status.INVALID, e.getMessage());
+                continue;
+            }
+            toInsert.add(contacts.get(i));
+            insertIndexes.add(i);
+        }
+
+        List<Long> ids = insertContacts(toInsert);
+        for (int k = 0; k < ids.size(); k++) {
+            int i = insertIndexes.get(k);
+            results[i] = BatchItemResult.created(i, ids.get(k));
+        }
+        int created = ids.size();
+
+        int failed = contacts.size() - created;
+        log.info("Service: 批量创建完成，成功 {} 个，失败 {} 个，耗时 {} ms",
+                created, failed, System.currentTimeMillis() - start);
+        return new BatchCreateResponse(contacts.size(), created, failed, Arrays.asList(results));
+    }
+
+    /**
+     * 批量插入已校验并去重的联系人
+     * 每 jdbcBatchSize 条 flush 一次并清空持久化上下文
+     */
+    @Override
+    public List<Long> insertContacts(List<Contact> contacts) {
+        List<Long> ids = new ArrayList<>(contacts.size());
+        try {
+            for (Contact contact : contacts) {
+                contact.setId(null);
+                if (contact.getBookmarked() == null) {
+                    contact.setBookmarked(false);
+                }
+                Contact savedContact = contactRepository.save(contact);
+                eventPublisher.publishEvent(ContactChangedEvent.created(savedContact));
+                ids.add(savedContact.getId());
+                if (ids.size() % jdbcBatchSize == 0) {
+                    flushBatch();
+                }
+            }
+            flushBatch();
+        } catch (DataIntegrityViolationException e) {
+            if (isPhoneConstraintViolation(e)) {
+                log.warn("Service: 批量插入时电话号码被并发写入");
+                throw new DuplicatePhoneException("批量插入时电话号码已被其他请求写入，请重试", e);
+            }
+            log.error("Service: 批量插入联系人失败", e);
+            throw new RuntimeException("批量插入联系人失败: " + e.getMessage(), e);
+        }
+        return ids;
+    }
+
+    /**
+     * 按电话号码批量合并联系人
+     * 用 IN 查询载入号码已存在的联系人，在内存中合并导入的非空字段后只把新增和有变化的记录
+     * 交给 MERGE / ON CONFLICT 语句批量写入，字段未变化的记录不写数据库
+     */
+    @Override
+    public BatchUpsertResponse upsertContacts(List<Contact> contacts) {
+        if (contacts == null || contacts.isEmpty()) {
+            throw new ValidationException("联系人列表不能为空");
+        }
+        if (contacts.size() > maxBatchItems) {
+            throw new ValidationException("单次最多合并 " + maxBatchItems + " 个联系人");
+        }
+        log.info("Service: 开始批量合并 {} 个联系人", contacts.size());
+        long start = System.currentTimeMillis();
+
+        BatchItemResult[] results = new BatchItemResult[contacts.size()];
+        Map<String, Integer> indexByPhone = validateBatch(contacts, results);
+
+        Map<String, Contact> existingByPhone = new HashMap<>();
+        for (Contact existing : loadInChunks(new ArrayList<>(indexByPhone.keySet()), contactRepository::findByPhoneIn)) {
+            existingByPhone.put(existing.getPhone(), existing);
+        }
+        // 后面直接修改这些对象作为事件内容，不能让 Hibernate 再把它们写回数据库
+        entityManager.clear();
+
+        List<Contact> toWrite = new ArrayList<>();
+        List<Integer> writeIndexes = new ArrayList<>();
+        int unchanged = 0;
+        for (Map.Entry<String, Integer> entry : indexByPhone.entrySet()) {
+            int i = entry.getValue();
+            Contact incoming = contacts.get(i);
+            Contact existing = existingByPhone.get(entry.getKey());
+            if (existing == null) {
+                try {
+                    resolveAvatar(incoming);
+                } catch (ValidationException e) {
+                    results[i] = BatchItemResult.failed(i, BatchItemResult.Status.INVALID, e.getMessage());
+                    continue;
+                }
+                incoming.setId(null);
+                if (incoming.getBookmarked() == null) {
+                    incoming.setBookmarked(false);
+                }
+                toWrite.add(incoming);
+                writeIndexes.add(i);
+            } else if (mergeImportedFields(existing, incoming)) {
+                toWrite.add(existing);
+                writeIndexes.add(i);
+            } else {
+                results[i] = BatchItemResult.merged(i, BatchItemResult.Status.UNCHANGED, existing.getId());
+                unchanged++;
+            }
+        }
+
+        int inserted = 0;
+        int updated = 0;
+        try {
+            contactUpsertRepository.upsert(toWrite, jdbcBatchSize);
+        } catch (DataAccessException e) {
+            log.error("Service: 批量合并联系人失败", e);
+            throw new RuntimeException("批量合并联系人失败: " + e.getMessage(), e);
+        }
+        for (int k = 0; k < toWrite.size(); k++) {
+            Contact contact = toWrite.get(k);
+            int i = writeIndexes.get(k);
+            if (existingByPhone.containsKey(contact.getPhone())) {
+                eventPublisher.publishEvent(ContactChangedEvent.updated(contact));
+                results[i] = BatchItemResult.merged(i, BatchItemResult.Status.UPDATED, contact.getId());
+                updated++;
+            } else {
+                eventPublisher.publishEvent(ContactChangedEvent.created(contact));
+                results[i] = BatchItemResult.created(i, contact.getId());
+                inserted++;
+            }
+        }
+
+        int failed = contacts.size() - inserted - updated - unchanged;
+        log.info("Service: 批量合并完成，新增 {} 个，更新 {} 个，未变化 {} 个，失败 {} 个，耗时 {} ms",
+                inserted, updated, unchanged, failed, System.currentTimeMillis() - start);
+        return new BatchUpsertResponse(contacts.size(), inserted, updated, unchanged, failed, Arrays.asList(results));
+    }
+
     /**
      * 更新联系人信息
      */
     @Override
     public Contact updateContact(Long id, Contact contactDetails) {
+        return updateContact(id, contactDetails, null);
+    }
+
+    /**
+     * 带条件地更新联系人信息
+     * 指定 If-Match 时加行锁读取联系人，比较 ETag 与更新之间不会有其他事务修改
+     */
+    @Override
+    public Contact updateContact(Long id, Contact contactDetails, String ifMatch) {
         log.info("Service: 开始更新联系人，ID: {}", id);
 
         // 参数验证
         if (id == null || id <= 0) {
             throw new ValidationException("联系人ID不能为空且必须大于0");
         }
-        validateContact(contactDetails);
+        contactValidator.validate(contactDetails);
+        resolveAvatar(contactDetails);
 
         try {
             // 检查联系人是否存在
-            Optional<Contact> optionalContact = contactRepository.findById(id);
+            Optional<Contact> optionalContact = ifMatch == null
+                    ? contactRepository.findById(id)
+                    : contactRepository.findForUpdateById(id);
             if (optionalContact.isEmpty()) {
                 log.warn("Service: 要更新的联系人不存在，ID: {}", id);
                 throw new ContactNotFoundException(id);
             }
 
             Contact existingContact = optionalContact.get();
+            if (ifMatch != null && !ETagUtil.matches(ifMatch, ETagUtil.of(existingContact))) {
+                log.warn("Service: 联系人已被修改，If-Match 不匹配，ID: {}", id);
+                throw new PreconditionFailedException(id);
+            }
 
             // 如果电话号码有变化，检查新号码是否已被其他联系人使用
             if (!existingContact.getPhone().equals(contactDetails.getPhone())) {
-                if (contactRepository.existsByPhoneAndIdNot(contactDetails.getPhone(), id)) {
+                if (phoneExists(contactDetails.getPhone(), id)) {
                     log.warn("Service: 电话号码已被其他联系人使用: {}", contactDetails.getPhone());
                     throw new DuplicatePhoneException(contactDetails.getPhone());
                 }
@@ -162,10 +524,13 @@ public class ContactServiceImpl implements ContactService {
             // 更新联系人信息（保留收藏状态）
             updateContactFields(existingContact, contactDetails);
 
-            Contact updatedContact = contactRepository.save(existingContact);
+            Contact updatedContact = contactRepository.saveAndFlush(existingContact);
+            eventPublisher.publishEvent(ContactChangedEvent.updated(updatedContact));
             log.info("Service: 成功更新联系人: {} (ID: {})", updatedContact.getName(), updatedContact.getId());
             return updatedContact;
-        } catch (ContactNotFoundException | DuplicatePhoneException e) {
+        } catch (DataIntegrityViolationException e) {
+            throw duplicatePhoneOr(e, contactDetails.getPhone());
+        } catch (ContactNotFoundException | DuplicatePhoneException | PreconditionFailedException e) {
             // 重新抛出自定义异常
             throw e;
         } catch (Exception e) {
@@ -187,13 +552,13 @@ public class ContactServiceImpl implements ContactService {
         }
 
         try {
-            // 检查联系人是否存在
-            if (!contactRepository.existsById(id)) {
+            // 先写入删除记录，写入行数为0说明联系人不存在；再直接按ID删除
+            if (deletedContactRepository.insertForContacts(List.of(id), Contact.currentTimestamp()) == 0) {
                 log.warn("Service: 要删除的联系人不存在，ID: {}", id);
                 throw new ContactNotFoundException(id);
             }
-
-            contactRepository.deleteById(id);
+            contactRepository.deleteContactById(id);
+            eventPublisher.publishEvent(ContactChangedEvent.deleted(id));
             log.info("Service: 成功删除联系人，ID: {}", id);
         } catch (ContactNotFoundException e) {
             // 重新抛出自定义异常
@@ -204,6 +569,34 @@ public class ContactServiceImpl implements ContactService {
         }
     }
 
+    /**
+     * 批量删除联系人
+     */
+    @Override
+    public BulkDeleteResponse deleteContacts(Collection<Long> ids) {
+        List<Long> distinctIds = validateIds(ids);
+        log.info("Service: 开始批量删除联系人，数量: {}", distinctIds.size());
+
+        LocalDateTime now = Contact.currentTimestamp();
+        List<Long> deletedIds = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            // 先锁定实际存在的联系人，删除记录、删除和事件都只针对这些ID
+            List<Long> existingIds = contactRepository.findIdsForUpdateByIdIn(chunk);
+            if (existingIds.isEmpty()) {
+                continue;
+            }
+            deletedContactRepository.insertForContacts(existingIds, now);
+            contactRepository.deleteByIdIn(existingIds);
+            deletedIds.addAll(existingIds);
+        }
+        // 不存在的ID不发布事件，避免无意义地推进表版本和推送 SSE
+        deletedIds.forEach(id -> eventPublisher.publishEvent(ContactChangedEvent.deleted(id)));
+
+        log.info("Service: 批量删除完成，请求: {}，删除: {}", distinctIds.size(), deletedIds.size());
+        return new BulkDeleteResponse(distinctIds.size(), deletedIds.size());
+    }
+
     /**
      * 搜索联系人
      */
@@ -219,7 +612,10 @@ public class ContactServiceImpl implements ContactService {
 
         String trimmedKeyword = keyword.trim();
         try {
-            List<Contact> contacts = contactRepository.searchByNameOrPhone(trimmedKeyword);
+            // 优先使用内存索引，只按命中的ID回表；索引不可用时退回 LIKE 查询
+            List<Contact> contacts = contactSearchIndex.search(trimmedKeyword)
+                    .map(ids -> loadInChunks(ids, contactRepository::findByIdInOrderByIdAsc))
+                    .orElseGet(() -> contactRepository.searchByNameOrPhoneOrEmail(trimmedKeyword));
             log.info("Service: 搜索到 {} 个匹配的联系人", contacts.size());
             return contacts;
         } catch (Exception e) {
@@ -228,6 +624,32 @@ public class ContactServiceImpl implements ContactService {
         }
     }
 
+    /**
+     * 搜索联系人，返回列表项
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ContactSummary> searchContactSummaries(String keyword) {
+        log.info("Service: 开始搜索联系人列表项，关键词: '{}'", keyword);
+
+        if (keyword == null || keyword.trim().isEmpty()) {
+            log.info("Service: 搜索关键词为空，返回所有联系人列表项");
+            return getAllContactSummaries();
+        }
+
+        String trimmedKeyword = keyword.trim();
+        try {
+            List<ContactSummary> summaries = contactSearchIndex.search(trimmedKeyword)
+                    .map(ids -> loadInChunks(ids, contactRepository::findSummariesByIdIn))
+                    .orElseGet(() -> contactRepository.searchSummariesByNameOrPhoneOrEmail(trimmedKeyword));
+            log.info("Service: 搜索到 {} 个匹配的联系人列表项", summaries.size());
+            return summaries;
+        } catch (Exception e) {
+            log.error("Service: 搜索联系人列表项失败，关键词: {}", trimmedKeyword, e);
+            throw new RuntimeException("搜索联系人失败: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 根据姓名搜索联系人
      */
@@ -285,7 +707,7 @@ public class ContactServiceImpl implements ContactService {
         }
 
         try {
-            boolean exists = contactRepository.existsByPhone(phone.trim());
+            boolean exists = phoneExists(phone.trim());
             log.debug("Service: 电话号码 '{}' 存在: {}", phone, exists);
             return exists;
         } catch (Exception e) {
@@ -311,7 +733,7 @@ public class ContactServiceImpl implements ContactService {
         }
 
         try {
-            boolean exists = contactRepository.existsByPhoneAndIdNot(phone.trim(), excludeId);
+            boolean exists = phoneExists(phone.trim(), excludeId);
             log.debug("Service: 电话号码 '{}' 存在（排除ID: {}）: {}", phone, excludeId, exists);
             return exists;
         } catch (Exception e) {
@@ -320,8 +742,23 @@ public class ContactServiceImpl implements ContactService {
         }
     }
 
+    /**
+     * 批量检查电话号码是否已存在
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Set<String> findExistingPhones(Collection<String> phones) {
+        if (phones == null || phones.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> existing = phoneExistenceFilter.existing(phones, this::queryExistingPhones);
+        log.debug("Service: 批量检查 {} 个电话号码，已存在 {} 个", phones.size(), existing.size());
+        return existing;
+    }
+
     /**
      * 收藏联系人
+     * 用一条条件 UPDATE 设置状态，再读取联系人返回，不经过脏检查
      */
     @Override
     public Contact bookmarkContact(Long id) {
@@ -333,27 +770,21 @@ public class ContactServiceImpl implements ContactService {
         }
 
         try {
-            // 检查联系人是否存在
-            Optional<Contact> optionalContact = contactRepository.findById(id);
-            if (optionalContact.isEmpty()) {
+            int updated = contactRepository.updateBookmarked(id, true, Contact.currentTimestamp());
+            Contact contact = contactRepository.findById(id).orElseThrow(() -> {
                 log.warn("Service: 要收藏的联系人不存在，ID: {}", id);
-                throw new ContactNotFoundException(id);
-            }
-
-            Contact contact = optionalContact.get();
+                return new ContactNotFoundException(id);
+            });
 
-            // 如果已经是收藏状态，直接返回
-            if (Boolean.TRUE.equals(contact.getBookmarked())) {
+            // 已经是收藏状态时没有更新任何行
+            if (updated == 0) {
                 log.info("Service: 联系人已经是收藏状态，ID: {}", id);
                 return contact;
             }
 
-            // 设置为收藏
-            contact.setBookmarked(true);
-            Contact updatedContact = contactRepository.save(contact);
-
-            log.info("Service: 成功收藏联系人: {} (ID: {})", updatedContact.getName(), updatedContact.getId());
-            return updatedContact;
+            eventPublisher.publishEvent(ContactChangedEvent.bookmarked(contact));
+            log.info("Service: 成功收藏联系人: {} (ID: {})", contact.getName(), contact.getId());
+            return contact;
         } catch (ContactNotFoundException e) {
             // 重新抛出自定义异常
             throw e;
@@ -376,27 +807,21 @@ public class ContactServiceImpl implements ContactService {
         }
 
         try {
-            // 检查联系人是否存在
-            Optional<Contact> optionalContact = contactRepository.findById(id);
-            if (optionalContact.isEmpty()) {
+            int updated = contactRepository.updateBookmarked(id, false, Contact.currentTimestamp());
+            Contact contact = contactRepository.findById(id).orElseThrow(() -> {
                 log.warn("Service: 要取消收藏的联系人不存在，ID: {}", id);
-                throw new ContactNotFoundException(id);
-            }
-
-            Contact contact = optionalContact.get();
+                return new ContactNotFoundException(id);
+            });
 
-            // 如果已经是不收藏状态，直接返回
-            if (Boolean.FALSE.equals(contact.getBookmarked())) {
+            // 已经是不收藏状态时没有更新任何行
+            if (updated == 0) {
                 log.info("Service: 联系人已经是不收藏状态，ID: {}", id);
                 return contact;
             }
 
-            // 设置为不收藏
-            contact.setBookmarked(false);
-            Contact updatedContact = contactRepository.save(contact);
-
-            log.info("Service: 成功取消收藏联系人: {} (ID: {})", updatedContact.getName(), updatedContact.getId());
-            return updatedContact;
+            eventPublisher.publishEvent(ContactChangedEvent.bookmarked(contact));
+            log.info("Service: 成功取消收藏联系人: {} (ID: {})", contact.getName(), contact.getId());
+            return contact;
         } catch (ContactNotFoundException e) {
             // 重新抛出自定义异常
             throw e;
@@ -408,6 +833,7 @@ public class ContactServiceImpl implements ContactService {
 
     /**
      * 切换收藏状态
+     * 取反在数据库中完成，并发切换按提交顺序依次生效
      */
     @Override
     public Contact toggleBookmark(Long id) {
@@ -419,23 +845,17 @@ public class ContactServiceImpl implements ContactService {
         }
 
         try {
-            // 检查联系人是否存在
-            Optional<Contact> optionalContact = contactRepository.findById(id);
-            if (optionalContact.isEmpty()) {
+            if (contactRepository.toggleBookmarked(id, Contact.currentTimestamp()) == 0) {
                 log.warn("Service: 要切换收藏状态的联系人不存在，ID: {}", id);
                 throw new ContactNotFoundException(id);
             }
+            // 在同一事务中读取，得到的是本次更新后的状态
+            Contact contact = contactRepository.findById(id).orElseThrow(() -> new ContactNotFoundException(id));
+            eventPublisher.publishEvent(ContactChangedEvent.bookmarked(contact));
 
-            Contact contact = optionalContact.get();
-
-            // 切换收藏状态
-            boolean newBookmarkState = !Boolean.TRUE.equals(contact.getBookmarked());
-            contact.setBookmarked(newBookmarkState);
-            Contact updatedContact = contactRepository.save(contact);
-
-            String action = newBookmarkState ? "收藏" : "取消收藏";
-            log.info("Service: 成功{}联系人: {} (ID: {})", action, updatedContact.getName(), updatedContact.getId());
-            return updatedContact;
+            String action = Boolean.TRUE.equals(contact.getBookmarked()) ? "收藏" : "取消收藏";
+            log.info("Service: 成功{}联系人: {} (ID: {})", action, contact.getName(), contact.getId());
+            return contact;
         } catch (ContactNotFoundException e) {
             // 重新抛出自定义异常
             throw e;
@@ -445,131 +865,244 @@ public class ContactServiceImpl implements ContactService {
         }
     }
 
-    // ========== 私有辅助方法 ==========
+    /**
+     * 批量设置收藏状态
+     */
+    @Override
+    public BulkBookmarkResponse setBookmarked(Collection<Long> ids, Boolean bookmarked) {
+        if (bookmarked == null) {
+            throw new ValidationException("收藏状态不能为空");
+        }
+        List<Long> distinctIds = validateIds(ids);
+        log.info("Service: 开始批量{}联系人，数量: {}", bookmarked ? "收藏" : "取消收藏", distinctIds.size());
+
+        LocalDateTime now = Contact.currentTimestamp();
+        List<Long> updatedIds = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            // 先锁定状态确实需要变化的联系人，只更新这些ID并为其发布事件
+            List<Long> changedIds = contactRepository.findIdsForUpdateByIdInAndBookmarkedNot(chunk, bookmarked);
+            if (changedIds.isEmpty()) {
+                continue;
+            }
+            contactRepository.updateBookmarkedIn(changedIds, bookmarked, now);
+            updatedIds.addAll(changedIds);
+        }
+        // 不存在或已是目标状态的ID不发布事件，避免无意义地推进表版本和推送 SSE
+        updatedIds.forEach(id -> eventPublisher.publishEvent(ContactChangedEvent.bookmarked(id)));
+
+        log.info("Service: 批量{}完成，请求: {}，更新: {}", bookmarked ? "收藏" : "取消收藏",
+                distinctIds.size(), updatedIds.size());
+        return new BulkBookmarkResponse(distinctIds.size(), updatedIds.size(), bookmarked);
+    }
 
     /**
-     * 验证联系人信息的有效性
-     * @param contact 联系人对象
+     * 获取联系人头像
      */
-    private void validateContact(Contact contact) {
-        if (contact == null) {
-            throw new ValidationException("联系人信息不能为空");
+    @Override
+    @Transactional(readOnly = true)
+    public String getContactAvatar(Long id) {
+        log.debug("Service: 获取联系人头像，ID: {}", id);
+
+        if (id == null || id <= 0) {
+            throw new ValidationException("联系人ID不能为空且必须大于0");
         }
 
-        // 验证姓名
-        if (contact.getName() == null || contact.getName().trim().isEmpty()) {
-            throw new ValidationException("联系人姓名不能为空");
+        String avatarRef = contactRepository.findAvatarRefById(id)
+                .orElseThrow(() -> new ContactNotFoundException("联系人头像不存在，ID: " + id));
+        // 尚未迁移的旧数据直接返回内联的 data URL
+        return AvatarUtil.isDataUrl(avatarRef) ? avatarRef : AvatarUtil.urlOf(avatarRef);
+    }
+
+    // ========== 私有辅助方法 ==========
+
+    /**
+     * 校验批量操作的ID列表并去重，保持请求顺序
+     */
+    private List<Long> validateIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("联系人ID列表不能为空");
         }
-        String name = contact.getName().trim();
-        if (name.length() > 100) {
-            throw new ValidationException("联系人姓名长度不能超过100个字符");
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > maxBatchItems) {
+            throw new ValidationException("单次最多处理" + maxBatchItems + "个联系人");
         }
-        contact.setName(name); // 去除前后空格
-
-        // 验证电话
-        if (contact.getPhone() == null || contact.getPhone().trim().isEmpty()) {
-            throw new ValidationException("联系人电话不能为空");
+        if (distinctIds.stream().anyMatch(id -> id == null || id <= 0)) {
+            throw new ValidationException("联系人ID不能为空且必须大于0");
         }
+        return List.copyOf(distinctIds);
+    }
 
-        String phone = contact.getPhone().trim();
-        // 简单的电话格式验证：支持手机号和座机号
-        if (!isValidPhoneNumber(phone)) {
-            throw new ValidationException("电话号码格式不正确");
-        }
-        contact.setPhone(phone); // 去除前后空格
+    /**
+     * 检查电话号码是否已存在，过滤器判定一定不存在时不查询数据库
+     */
+    private boolean phoneExists(String phone) {
+        return phoneExistenceFilter.exists(phone, () -> contactRepository.existsByPhone(phone));
+    }
 
-        // 验证邮箱（如果提供了邮箱）
-        if (contact.getEmail() != null && !contact.getEmail().trim().isEmpty()) {
-            String email = contact.getEmail().trim();
-            if (!isValidEmail(email)) {
-                throw new ValidationException("邮箱格式不正确");
-            }
-            contact.setEmail(email); // 去除前后空格
-        } else {
-            contact.setEmail(null); // 确保空字符串转为null
-        }
+    /**
+     * 检查电话号码是否已被其他联系人使用
+     */
+    private boolean phoneExists(String phone, Long excludeId) {
+        return phoneExistenceFilter.exists(phone, () -> contactRepository.existsByPhoneAndIdNot(phone, excludeId));
+    }
 
-        // 验证微信账号
-        if (contact.getWechat() != null && !contact.getWechat().trim().isEmpty()) {
-            String wechat = contact.getWechat().trim();
-            if (wechat.length() > 50) {
-                throw new ValidationException("微信账号长度不能超过50个字符");
-            }
-            contact.setWechat(wechat);
-        } else {
-            contact.setWechat(null);
-        }
+    /**
+     * 分批查询已存在的号码
+     */
+    private List<String> queryExistingPhones(List<String> phones) {
+        return loadInChunks(phones, contactRepository::findExistingPhones);
+    }
 
-        // 验证QQ账号
-        if (contact.getQq() != null && !contact.getQq().trim().isEmpty()) {
-            String qq = contact.getQq().trim();
-            if (!isValidQQ(qq)) {
-                throw new ValidationException("QQ账号格式不正确");
-            }
-            if (qq.length() > 20) {
-                throw new ValidationException("QQ账号长度不能超过20个字符");
-            }
-            contact.setQq(qq);
-        } else {
-            contact.setQq(null);
-        }
+    /**
+     * 将当前批次写入数据库并清空持久化上下文
+     */
+    private void flushBatch() {
+        contactRepository.flush();
+        entityManager.clear();
+    }
 
-        // 验证地址长度
-        if (contact.getAddress() != null) {
-            String address = contact.getAddress().trim();
-            if (address.length() > 200) {
-                throw new ValidationException("地址长度不能超过200个字符");
-            }
-            contact.setAddress(address.isEmpty() ? null : address); // 去除前后空格，空字符串转为null
-        }
+    /**
+     * 判断是否违反了电话号码唯一约束
+     */
+    private boolean isPhoneConstraintViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(Contact.UK_PHONE);
+    }
 
-        // 验证公司名称长度
-        if (contact.getCompany() != null) {
-            String company = contact.getCompany().trim();
-            if (company.length() > 100) {
-                throw new ValidationException("公司名称长度不能超过100个字符");
-            }
-            contact.setCompany(company.isEmpty() ? null : company); // 去除前后空格，空字符串转为null
+    /**
+     * 并发写入同一号码时由唯一约束拦截，转换为号码重复异常
+     */
+    private RuntimeException duplicatePhoneOr(DataIntegrityViolationException e, String phone) {
+        if (isPhoneConstraintViolation(e)) {
+            log.warn("Service: 电话号码已存在（唯一约束）: {}", phone);
+            return new DuplicatePhoneException(phone);
         }
+        log.error("Service: 保存联系人失败: {}", phone, e);
+        return new RuntimeException("保存联系人失败: " + e.getMessage(), e);
+    }
 
-        // 验证收藏状态（确保不为null）
-        if (contact.getBookmarked() == null) {
-            contact.setBookmarked(false);
+    /**
+     * 逐条校验批量请求，并去除批次内重复的号码（保留第一次出现的记录）
+     * 失败的记录写入 results
+     * @return 号码 -> 记录下标，按请求顺序排列
+     */
+    private Map<String, Integer> validateBatch(List<Contact> contacts, BatchItemResult[] results) {
+        Map<String, Integer> indexByPhone = new LinkedHashMap<>();
+        for (int i = 0; i < contacts.size(); i++) {
+            Map<String, String> violations = contactValidator.check(contacts.get(i));
+            if (!violations.isEmpty()) {
+                results[i] = BatchItemResult.failed(i, BatchItemResult.Status.INVALID,
+                        ContactValidator.describe(violations));
+                continue;
+            }
+            String phone = contacts.get(i).getPhone();
+            Integer first = indexByPhone.putIfAbsent(phone, i);
+            if (first != null) {
+                results[i] = BatchItemResult.failed(i, BatchItemResult.Status.DUPLICATE,
+                        "电话号码与第 " + (first + 1) + " 条记录重复: " + phone);
+            }
         }
+        return indexByPhone;
     }
 
     /**
-     * 验证电话号码格式
-     * @param phone 电话号码
-     * @return 是否有效
+     * 将导入的字段合并到已存在的联系人（头像不参与合并）
+     * 只合并导入中有值的字段：空单元格和缺少的列（null）保留原值，不会清空已有的邮箱、地址等，
+     * 表格没有收藏列时也不会取消收藏
+     * @return 是否有字段发生变化
      */
-    private boolean isValidPhoneNumber(String phone) {
-        // 手机号：1开头，11位数字
-        String mobileRegex = "^1[3-9]\\d{9}$";
-        // 座机号：区号-号码，如 010-12345678 或 010-1234567
-        String landlineRegex = "^\\d{3,4}-\\d{7,8}$";
-        // 简单数字验证（宽松模式）
-        String simpleRegex = "^\\d{5,20}$";
+    private static boolean mergeImportedFields(Contact existing, Contact incoming) {
+        boolean changed = mergeField(incoming.getName(), existing.getName(), existing::setName);
+        changed |= mergeField(incoming.getEmail(), existing.getEmail(), existing::setEmail);
+        changed |= mergeField(incoming.getWechat(), existing.getWechat(), existing::setWechat);
+        changed |= mergeField(incoming.getQq(), existing.getQq(), existing::setQq);
+        changed |= mergeField(incoming.getAddress(), existing.getAddress(), existing::setAddress);
+        changed |= mergeField(incoming.getCompany(), existing.getCompany(), existing::setCompany);
+        changed |= mergeField(incoming.getBookmarked(), existing.getBookmarked(), existing::setBookmarked);
+        return changed;
+    }
 
-        return phone.matches(mobileRegex) || phone.matches(landlineRegex) || phone.matches(simpleRegex);
+    /**
+     * 导入的值不为 null 且与当前值不同时写入
+     * @return 是否写入
+     */
+    private static <T> boolean mergeField(T incoming, T current, Consumer<T> setter) {
+        if (incoming == null || incoming.equals(current)) {
+            return false;
+        }
+        setter.accept(incoming);
+        return true;
     }
 
     /**
-     * 验证邮箱格式
-     * @param email 邮箱地址
-     * @return 是否有效
+     * 分批执行 IN 查询，避免 IN 列表过长
+     * @param keys 查询条件，按ID查询时应按升序排列
+     * @param loader 单批查询
+     * @return 各批结果按顺序拼接
      */
-    private boolean isValidEmail(String email) {
-        // 简单的邮箱格式验证
-        String emailRegex = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$";
-        return email.matches(emailRegex);
+    private <K, T> List<T> loadInChunks(List<K> keys, Function<List<K>, List<T>> loader) {
+        if (keys.size() <= ID_LOOKUP_CHUNK_SIZE) {
+            return keys.isEmpty() ? List.of() : loader.apply(keys);
+        }
+        List<T> results = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            results.addAll(loader.apply(keys.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, keys.size()))));
+        }
+        return results;
     }
 
-    // 添加QQ账号验证方法
-    private boolean isValidQQ(String qq) {
-        // QQ号规则：5-11位数字，不能以0开头
-        String qqRegex = "^[1-9][0-9]{4,10}$";
-        return qq.matches(qqRegex);
+    /**
+     * 键集分页的通用读取逻辑
+     * 多读取一条记录用于判断是否还有下一页
+     * @param afterIdQuery 按ID排序时的查询
+     * @param firstByNameQuery 按姓名排序时第一页的查询
+     * @param afterNameQuery 按姓名排序时后续页的查询
+     * @param idOf 取记录ID
+     * @param nameOf 取记录姓名
+     */
+    private <T> CursorPage<T> readPage(String sort, String after, Integer limit,
+                                       BiFunction<Long, Pageable, List<T>> afterIdQuery,
+                                       Function<Pageable, List<T>> firstByNameQuery,
+                                       BiFunction<ContactCursor, Pageable, List<T>> afterNameQuery,
+                                       Function<T, Long> idOf, Function<T, String> nameOf) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new ValidationException("每页数量必须在1到" + MAX_PAGE_SIZE + "之间");
+        }
+        ContactCursor cursor = ContactCursor.parse(sort, after);
+
+        try {
+            PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+            List<T> rows;
+            if (!cursor.isSortByName()) {
+                rows = afterIdQuery.apply(cursor.isFirstPage() ? 0L : cursor.getLastId(), pageRequest);
+            } else if (cursor.isFirstPage()) {
+                rows = firstByNameQuery.apply(pageRequest);
+            } else {
+                rows = afterNameQuery.apply(cursor, pageRequest);
+            }
+
+            boolean hasMore = rows.size() > pageSize;
+            List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+            String nextCursor = null;
+            if (hasMore) {
+                T last = items.get(items.size() - 1);
+                nextCursor = cursor.next(idOf.apply(last), nameOf.apply(last)).encode();
+            }
+
+            log.info("Service: 成功分页获取 {} 条记录，hasMore: {}", items.size(), hasMore);
+            return CursorPage.<T>builder()
+                    .items(items)
+                    .nextCursor(nextCursor)
+                    .hasMore(hasMore)
+                    .limit(pageSize)
+                    .sort(cursor.getSort())
+                    .build();
+        } catch (Exception e) {
+            log.error("Service: 分页获取联系人失败", e);
+            throw new RuntimeException("分页获取联系人失败: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -588,9 +1121,26 @@ public class ContactServiceImpl implements ContactService {
         // 不更新收藏状态，收藏状态有专门的接口处理
         // existing.setBookmarked(updates.getBookmarked());
 
-        // 如果更新了头像，也要更新
-        if (updates.getAvatar() != null) {
-            existing.setAvatar(updates.getAvatar());
+        // 如果更新了头像，只替换头像引用，图片内容已在头像存储中
+        if (updates.getAvatarHash() != null) {
+            existing.setAvatarHash(updates.getAvatarHash());
+            existing.setAvatar(null);
+        }
+    }
+
+    /**
+     * 将提交的头像转换为头像存储引用
+     * avatar 为 data URL 时转存并得到 hash；也可以直接提交已上传头像的 avatarHash
+     * @param contact 联系人对象
+     */
+    private void resolveAvatar(Contact contact) {
+        String avatar = contact.getAvatar();
+        contact.setAvatar(null);
+
+        if (avatar != null && !avatar.trim().isEmpty()) {
+            contact.setAvatarHash(avatarService.storeDataUrl(avatar.trim()));
+        } else if (contact.getAvatarHash() != null && !avatarService.exists(contact.getAvatarHash())) {
+            throw new ValidationException("头像不存在: " + contact.getAvatarHash());
         }
     }
 }
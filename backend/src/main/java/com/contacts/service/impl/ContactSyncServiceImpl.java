@@ -0,0 +1,105 @@
+package com.contacts.service.impl;
+
+import com.contacts.dto.ContactChanges;
+import com.contacts.dto.SyncToken;
+import com.contacts.entity.Contact;
+import com.contacts.exception.SyncTokenExpiredException;
+import com.contacts.exception.ValidationException;
+import com.contacts.repository.ContactRepository;
+import com.contacts.repository.DeletedContactRepository;
+import com.contacts.service.ContactSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 联系人增量同步实现
+ * 按 (updated_time, id) 键集分页读取变更，删除记录来自 deleted_contacts。
+ * 更新时间和删除时间在写入时确定、事务提交可能稍晚，客户端读过之后才可能提交一条时间更早的记录；
+ * 因此删除水位线和追上最新数据后的联系人水位线都回退 overlap 时长，下一次同步重新检查这段时间，
+ * overlap 需大于最长的写事务耗时（以及多实例之间的时钟偏差），重复返回的记录由客户端按ID覆盖
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class ContactSyncServiceImpl implements ContactSyncService {
+
+    static final int DEFAULT_LIMIT = 500;
+    static final int MAX_LIMIT = 1000;
+
+    private final ContactRepository contactRepository;
+
+    private final DeletedContactRepository deletedContactRepository;
+
+    private final Duration overlap;
+
+    private final Duration tombstoneRetention;
+
+    public ContactSyncServiceImpl(ContactRepository contactRepository,
+                                  DeletedContactRepository deletedContactRepository,
+                                  @Value("${contacts.sync.overlap:30s}") Duration overlap,
+                                  @Value("${contacts.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.contactRepository = contactRepository;
+        this.deletedContactRepository = deletedContactRepository;
+        this.overlap = overlap;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    public ContactChanges getChanges(String since, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageSize <= 0 || pageSize > MAX_LIMIT) {
+            throw new ValidationException("limit 必须在 1 到 " + MAX_LIMIT + " 之间");
+        }
+        SyncToken token = SyncToken.parse(since);
+        LocalDateTime now = Contact.currentTimestamp();
+        // 令牌早于删除记录的保留时长时，期间的删除可能已被清理，只能全量同步
+        if (!token.isInitial() && token.getDeletedSince().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncTokenExpiredException();
+        }
+        log.debug("Service: 增量同步，since: {}, lastId: {}, limit: {}", token.getSince(), token.getLastId(), pageSize);
+
+        List<Contact> rows = contactRepository.findChangedAfter(token.getSince(), token.getLastId(),
+                PageRequest.of(0, pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<Contact> changes = hasMore ? rows.subList(0, pageSize) : rows;
+
+        // 首次同步的第一页客户端还没有任何联系人，不需要删除记录；之后每页返回上一次水位线之后的删除
+        List<Long> deleted = token.isInitial() ? List.of()
+                : deletedContactRepository.findIdsDeletedAfter(token.getDeletedSince());
+        LocalDateTime watermark = now.minus(overlap);
+        SyncToken next;
+        if (hasMore) {
+            Contact last = changes.get(changes.size() - 1);
+            next = new SyncToken(last.getUpdatedTime(), last.getId(), watermark);
+        } else {
+            next = new SyncToken(watermark, 0, watermark);
+        }
+
+        log.info("Service: 增量同步返回 {} 个变更、{} 个删除，hasMore: {}", changes.size(), deleted.size(), hasMore);
+        return ContactChanges.builder()
+                .changes(List.copyOf(changes))
+                .deleted(deleted)
+                .nextToken(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${contacts.sync.purge-interval:1h}", initialDelayString = "${contacts.sync.purge-interval:1h}")
+    public int purgeExpiredTombstones() {
+        int purged = deletedContactRepository.deleteOlderThan(Contact.currentTimestamp().minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Service: 清理过期的删除记录 {} 条", purged);
+        }
+        return purged;
+    }
+}
@@ -0,0 +1,149 @@
+package com.contacts.service.impl;
+
+import com.contacts.dto.ImportJobStatus;
+import com.contacts.exception.ImportJobRejectedException;
+import com.contacts.importjob.ImportJob;
+import com.contacts.importjob.ImportPipeline;
+import com.contacts.metrics.TransferMetrics;
+import com.contacts.service.ContactService;
+import com.contacts.service.ImportJobService;
+import com.contacts.utils.ExecutorUtil;
+import com.contacts.validation.ContactValidator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 异步导入任务业务实现
+ * 任务状态只保存在内存中，完成后保留 retention 时长供查询
+ */
+@Slf4j
+@Service
+public class ImportJobServiceImpl implements ImportJobService {
+
+    // 每个任务的流水线占用的线程数：解析、校验、插入
+    static final int THREADS_PER_JOB = 3;
+
+    private final ContactService contactService;
+
+    private final ContactValidator contactValidator;
+
+    private final TransferMetrics transferMetrics;
+
+    private final int chunkSize;
+
+    private final int queueCapacity;
+
+    private final int maxConcurrentJobs;
+
+    private final int maxErrors;
+
+    private final Duration retention;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    // 限制同时运行的任务数，线程池恰好容纳这些任务的所有阶段
+    private final Semaphore runningJobs;
+
+    private final TaskExecutor executor;
+
+    public ImportJobServiceImpl(ContactService contactService, ContactValidator contactValidator,
+                                TransferMetrics transferMetrics,
+                                @Value("${contacts.import.chunk-size:500}") int chunkSize,
+                                @Value("${contacts.import.queue-capacity:4}") int queueCapacity,
+                                @Value("${contacts.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                @Value("${contacts.import.max-errors:1000}") int maxErrors,
+                                @Value("${contacts.import.retention:1h}") Duration retention,
+                                Environment environment) {
+        this.contactService = contactService;
+        this.contactValidator = contactValidator;
+        this.transferMetrics = transferMetrics;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.maxConcurrentJobs = maxConcurrentJobs;
+        this.maxErrors = maxErrors;
+        this.retention = retention;
+        this.runningJobs = new Semaphore(maxConcurrentJobs);
+
+        // 超出上限的任务在提交时即被拒绝，不会在线程池中长时间排队导致某个任务只有部分阶段在运行；
+        // 队列只用于容纳刚释放许可、线程尚未归还时提交的任务
+        int threads = maxConcurrentJobs * THREADS_PER_JOB;
+        this.executor = ExecutorUtil.create("contact-import-", threads, threads, Threading.VIRTUAL.isActive(environment));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ExecutorUtil.shutdown(executor);
+    }
+
+    @Override
+    public ImportJobStatus submitExcelImport(MultipartFile file, ImportJob.Mode mode) throws IOException {
+        evictExpiredJobs();
+        if (!runningJobs.tryAcquire()) {
+            log.warn("Service: 导入任务已达上限，拒绝新任务: {}", file.getOriginalFilename());
+            throw new ImportJobRejectedException(maxConcurrentJobs);
+        }
+
+        Path tempFile = null;
+        try {
+            // 请求结束后上传的临时文件会被删除，先复制一份供后台任务使用
+            tempFile = Files.createTempFile("contacts-import-job-", ".xlsx");
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            ImportJob job = new ImportJob(UUID.randomUUID().toString(), file.getOriginalFilename(), mode, maxErrors);
+            ImportPipeline pipeline = new ImportPipeline(job, tempFile, contactValidator, contactService,
+                    chunkSize, queueCapacity, executor);
+            jobs.put(job.getId(), job);
+            executor.execute(() -> {
+                try {
+                    pipeline.run();
+                    transferMetrics.recordImportJob(job.toStatus());
+                } finally {
+                    runningJobs.release();
+                }
+            });
+
+            log.info("Service: 已提交导入任务 {} ({}): {}", job.getId(), mode, job.getFilename());
+            return job.toStatus();
+        } catch (IOException | RuntimeException e) {
+            runningJobs.release();
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<ImportJobStatus> getJobStatus(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ImportJob::toStatus);
+    }
+
+    /**
+     * 清理完成时间超过保留时长的任务
+     */
+    private void evictExpiredJobs() {
+        LocalDateTime expiry = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedTime().isBefore(expiry));
+    }
+}
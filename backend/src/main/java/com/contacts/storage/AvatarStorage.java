@@ -0,0 +1,27 @@
+package com.contacts.storage;
+
+import com.contacts.entity.AvatarBlob;
+
+import java.util.Optional;
+
+/**
+ * 头像内容存储后端
+ * 元数据（hash、类型、大小）始终保存在 avatars 表中，图片内容由具体实现决定保存位置，
+ * 通过配置项 contacts.avatar.storage 选择：database（默认）或 filesystem
+ */
+public interface AvatarStorage {
+
+    /**
+     * 保存头像内容，在元数据入库之前调用
+     * @param blob 头像元数据
+     * @param bytes 图片内容
+     */
+    void write(AvatarBlob blob, byte[] bytes);
+
+    /**
+     * 读取头像内容
+     * @param blob 头像元数据
+     * @return 图片内容，不存在时为空
+     */
+    Optional<byte[]> read(AvatarBlob blob);
+}
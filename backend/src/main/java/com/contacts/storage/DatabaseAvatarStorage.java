@@ -0,0 +1,25 @@
+package com.contacts.storage;
+
+import com.contacts.entity.AvatarBlob;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 数据库存储：图片内容保存在 avatars.data 列（H2 为 VARBINARY，PostgreSQL 为 BYTEA）
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.avatar.storage", havingValue = "database", matchIfMissing = true)
+public class DatabaseAvatarStorage implements AvatarStorage {
+
+    @Override
+    public void write(AvatarBlob blob, byte[] bytes) {
+        blob.setData(bytes);
+    }
+
+    @Override
+    public Optional<byte[]> read(AvatarBlob blob) {
+        return Optional.ofNullable(blob.getData());
+    }
+}
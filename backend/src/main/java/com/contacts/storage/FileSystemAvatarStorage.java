@@ -0,0 +1,69 @@
+package com.contacts.storage;
+
+import com.contacts.entity.AvatarBlob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * 本地文件系统存储：图片内容按 hash 保存为 {根目录}/ab/cd/{hash}
+ * 先写临时文件再原子移动，同一 hash 的内容永远相同，已存在时直接跳过
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "contacts.avatar.storage", havingValue = "filesystem")
+public class FileSystemAvatarStorage implements AvatarStorage {
+
+    private final Path root;
+
+    public FileSystemAvatarStorage(@Value("${contacts.avatar.storage-path:./data/avatars}") String rootPath) {
+        this.root = Paths.get(rootPath).toAbsolutePath().normalize();
+        log.info("头像使用文件系统存储，目录: {}", root);
+    }
+
+    @Override
+    public void write(AvatarBlob blob, byte[] bytes) {
+        Path target = pathOf(blob.getHash());
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), blob.getHash(), ".tmp");
+            try {
+                Files.write(temp, bytes);
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("保存头像文件失败: " + blob.getHash(), e);
+        }
+    }
+
+    @Override
+    public Optional<byte[]> read(AvatarBlob blob) {
+        Path path = pathOf(blob.getHash());
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取头像文件失败: " + blob.getHash(), e);
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+}
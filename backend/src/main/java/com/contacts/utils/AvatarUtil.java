@@ -0,0 +1,76 @@
+package com.contacts.utils;
+
+import com.contacts.exception.ValidationException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+public class AvatarUtil {
+
+    private static final String DATA_URL_PREFIX = "data:";
+    private static final String BASE64_MARKER = ";base64,";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final Pattern HASH_PATTERN = Pattern.compile("^[0-9a-f]{64}$");
+    private static final String AVATAR_URL_PREFIX = "/api/avatars/";
+
+    /**
+     * 解码后的头像图片
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class DecodedImage {
+        private final String contentType;
+        private final byte[] bytes;
+    }
+
+    /**
+     * 头像访问地址
+     * @param hash 头像 hash
+     * @return 访问地址，hash 为空时返回 null
+     */
+    public static String urlOf(String hash) {
+        return hash == null ? null : AVATAR_URL_PREFIX + hash;
+    }
+
+    /**
+     * 判断是否为合法的头像 hash（64位小写十六进制 SHA-256）
+     */
+    public static boolean isValidHash(String value) {
+        return value != null && HASH_PATTERN.matcher(value).matches();
+    }
+
+    /**
+     * 判断是否为 data URL 格式的头像
+     */
+    public static boolean isDataUrl(String value) {
+        return value != null && value.startsWith(DATA_URL_PREFIX);
+    }
+
+    /**
+     * 解析前端上传的 data URL（如 data:image/png;base64,xxxx）
+     */
+    public static DecodedImage decodeDataUrl(String dataUrl) {
+        if (!isDataUrl(dataUrl)) {
+            throw new ValidationException("头像格式不正确");
+        }
+
+        int markerIndex = dataUrl.indexOf(BASE64_MARKER);
+        if (markerIndex < 0) {
+            throw new ValidationException("头像必须为 base64 编码");
+        }
+
+        String contentType = dataUrl.substring(DATA_URL_PREFIX.length(), markerIndex).trim();
+        if (contentType.isEmpty()) {
+            contentType = DEFAULT_CONTENT_TYPE;
+        }
+
+        try {
+            byte[] bytes = Base64.getMimeDecoder().decode(dataUrl.substring(markerIndex + BASE64_MARKER.length()));
+            return new DecodedImage(contentType, bytes);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("头像 base64 编码无效", e);
+        }
+    }
+}
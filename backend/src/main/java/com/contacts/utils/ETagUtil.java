@@ -0,0 +1,63 @@
+package com.contacts.utils;
+
+import com.contacts.entity.Contact;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 联系人 ETag 的生成与比较
+ * 单个联系人使用强 ETag（ID + 更新时间，精确到微秒），可用于 If-Match；
+ * 列表使用弱 ETag（启动时间 + 表版本号），只用于 If-None-Match
+ */
+public class ETagUtil {
+
+    private static final String ANY = "*";
+
+    private ETagUtil() {
+    }
+
+    /**
+     * 单个联系人的 ETag
+     */
+    public static String of(Contact contact) {
+        return of(contact.getId(), contact.getUpdatedTime());
+    }
+
+    /**
+     * 单个联系人的 ETag
+     * @param id 联系人ID
+     * @param updatedTime 更新时间，旧数据可能为空
+     */
+    public static String of(Long id, LocalDateTime updatedTime) {
+        long micros = 0;
+        if (updatedTime != null) {
+            micros = updatedTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedTime.getNano() / 1_000;
+        }
+        return "\"" + id + "-" + micros + "\"";
+    }
+
+    /**
+     * 联系人列表的 ETag
+     * @param epoch 进程启动时间，避免重启后版本号从头计数造成误判
+     * @param version 表版本号
+     */
+    public static String ofList(long epoch, long version) {
+        return "W/\"contacts-" + epoch + "-" + version + "\"";
+    }
+
+    /**
+     * If-Match 是否与当前 ETag 匹配（强比较，弱 ETag 不匹配）
+     * @param ifMatch If-Match 请求头，可以是 * 或逗号分隔的多个 ETag
+     * @param current 当前的强 ETag
+     */
+    public static boolean matches(String ifMatch, String current) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (ANY.equals(tag) || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
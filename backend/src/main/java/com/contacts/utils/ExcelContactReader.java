@@ -0,0 +1,231 @@
+package com.contacts.utils;
+
+import com.contacts.entity.Contact;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.IntConsumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * 流式读取 Excel 联系人
+ * 基于 XSSFReader 和 SAX 逐行解析工作表，不构建整个工作簿的对象树，内存占用与行数无关
+ * （共享字符串表仍会整体加载）。列的对应关系与 ExcelUtil.importFromExcel 相同
+ */
+public class ExcelContactReader {
+
+    // 列下标，与导出的表头一致：ID、姓名、电话、邮箱、微信、QQ、地址、公司、收藏
+    private static final int COLUMN_NAME = 1;
+    private static final int COLUMN_PHONE = 2;
+    private static final int COLUMN_EMAIL = 3;
+    private static final int COLUMN_WECHAT = 4;
+    private static final int COLUMN_QQ = 5;
+    private static final int COLUMN_ADDRESS = 6;
+    private static final int COLUMN_COMPANY = 7;
+    private static final int COLUMN_BOOKMARKED = 8;
+    private static final int COLUMN_COUNT = 9;
+
+    /**
+     * 读取上传的 .xlsx 文件
+     * 上传内容先写入临时文件，再以只读方式打开，避免将整个压缩包读入内存
+     * @param file 上传的文件
+     * @param consumer 逐行回调，参数为联系人和 Excel 中的行号（从1开始）
+     * @return 读取到的有效联系人数量
+     */
+    public static int read(MultipartFile file, ObjIntConsumer<Contact> consumer) throws IOException {
+        Path tempFile = Files.createTempFile("contacts-import-", ".xlsx");
+        try {
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return read(tempFile, consumer);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * 读取 .xlsx 文件的第一个工作表
+     * 第一行为表头，姓名或电话为空的行会被跳过
+     * @param file 文件路径
+     * @param consumer 逐行回调，参数为联系人和 Excel 中的行号（从1开始）
+     * @return 读取到的有效联系人数量
+     */
+    public static int read(Path file, ObjIntConsumer<Contact> consumer) throws IOException {
+        return read(file, rows -> { }, consumer);
+    }
+
+    /**
+     * 读取 .xlsx 文件的第一个工作表，并在开始读取数据前报告预计的数据行数
+     * @param file 文件路径
+     * @param estimatedRows 工作表声明了数据范围时回调预计的数据行数（不含表头，可能包含空行）
+     * @param consumer 逐行回调，参数为联系人和 Excel 中的行号（从1开始）
+     * @return 读取到的有效联系人数量
+     */
+    public static int read(Path file, IntConsumer estimatedRows, ObjIntConsumer<Contact> consumer) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg, false);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return 0;
+            }
+
+            RowHandler rowHandler = new RowHandler(consumer);
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(
+                        styles, null, sharedStrings, rowHandler, new LegacyFormatter(), false) {
+                    @Override
+                    public void startElement(String uri, String localName, String qName, Attributes attributes)
+                            throws SAXException {
+                        if ("dimension".equals(localName)) {
+                            reportDimension(attributes.getValue("ref"), estimatedRows);
+                        }
+                        super.startElement(uri, localName, qName, attributes);
+                    }
+                });
+                parser.parse(new InputSource(sheet));
+            }
+            return rowHandler.count;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("解析Excel文件失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 由工作表的数据范围（如 "A1:K2001"）计算数据行数
+     */
+    private static void reportDimension(String ref, IntConsumer estimatedRows) {
+        if (ref == null || ref.indexOf(':') < 0) {
+            return;
+        }
+        String last = ref.substring(ref.indexOf(':') + 1);
+        int digits = 0;
+        while (digits < last.length() && !Character.isDigit(last.charAt(digits))) {
+            digits++;
+        }
+        try {
+            estimatedRows.accept(Math.max(0, Integer.parseInt(last.substring(digits)) - 1));
+        } catch (NumberFormatException e) {
+            // 范围格式异常时不报告
+        }
+    }
+
+    /**
+     * 逐行组装联系人
+     */
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final ObjIntConsumer<Contact> consumer;
+
+        private final String[] values = new String[COLUMN_COUNT];
+
+        private int count;
+
+        RowHandler(ObjIntConsumer<Contact> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(values, null);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            if (cellReference == null) {
+                return;
+            }
+            int column = columnIndex(cellReference);
+            if (column < COLUMN_COUNT && formattedValue != null) {
+                values[column] = formattedValue.trim();
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            // 跳过表头
+            if (rowNum == 0) {
+                return;
+            }
+
+            Contact contact = new Contact();
+            contact.setName(values[COLUMN_NAME]);
+            contact.setPhone(values[COLUMN_PHONE]);
+            contact.setEmail(emptyToNull(values[COLUMN_EMAIL]));
+            contact.setWechat(emptyToNull(values[COLUMN_WECHAT]));
+            contact.setQq(emptyToNull(values[COLUMN_QQ]));
+            contact.setAddress(emptyToNull(values[COLUMN_ADDRESS]));
+            contact.setCompany(emptyToNull(values[COLUMN_COMPANY]));
+            // 收藏列为空或缺失时为 null：新增时按未收藏处理，合并时保留原状态
+            String bookmarked = emptyToNull(values[COLUMN_BOOKMARKED]);
+            contact.setBookmarked(bookmarked == null ? null : "是".equalsIgnoreCase(bookmarked));
+
+            // 只有姓名和电话都有的联系人才会被导入
+            if (contact.getName() != null && !contact.getName().isEmpty() &&
+                    contact.getPhone() != null && !contact.getPhone().isEmpty()) {
+                count++;
+                consumer.accept(contact, rowNum + 1);
+            }
+        }
+
+        private static String emptyToNull(String value) {
+            return value == null || value.isEmpty() ? null : value;
+        }
+
+        /**
+         * 由单元格引用（如 "C12"）计算列下标
+         */
+        private static int columnIndex(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                char c = cellReference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+    }
+
+    /**
+     * 与 ExcelUtil 保持一致的数字格式：日期输出 Date.toString()，其他数字取整数部分，
+     * 避免电话号码等长数字被格式化为科学计数法
+     */
+    private static class LegacyFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            if (DateUtil.isADateFormat(formatIndex, formatString) && DateUtil.isValidExcelDate(value)) {
+                return DateUtil.getJavaDate(value).toString();
+            }
+            return String.valueOf((long) value);
+        }
+    }
+}
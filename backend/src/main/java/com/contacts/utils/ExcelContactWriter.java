@@ -0,0 +1,185 @@
+package com.contacts.utils;
+
+import com.contacts.entity.Contact;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 流式写出 Excel 联系人
+ * 基于 SXSSFWorkbook，内存中只保留最近 windowSize 行，更早的行写入压缩的临时文件；
+ * 列宽根据前 sampleRows 行的内容估算，不使用需要逐个测量单元格的 autoSizeColumn。
+ * 表头、样式与 ExcelUtil.exportToExcel 一致。
+ * 用法：逐个 write，最后 finish 写出到输出流，并在 finally 中 close 删除临时文件
+ */
+public class ExcelContactWriter implements Closeable {
+
+    public static final int DEFAULT_WINDOW_SIZE = 200;
+    public static final int DEFAULT_SAMPLE_ROWS = 1000;
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] HEADERS = {
+            "ID", "姓名", "电话", "邮箱", "微信", "QQ",
+            "地址", "公司", "收藏", "创建时间", "更新时间"
+    };
+
+    // 与 ExcelUtil 一致：电话、微信、QQ 列使用固定宽度
+    private static final int FIXED_WIDTH = 20;
+    private static final boolean[] FIXED_COLUMNS = {
+            false, false, true, false, true, true, false, false, false, false, false
+    };
+
+    // 估算列宽的上下限（字符数）
+    private static final int MIN_WIDTH = 6;
+    private static final int MAX_WIDTH = 60;
+
+    private final SXSSFWorkbook workbook;
+
+    private final SXSSFSheet sheet;
+
+    private final CellStyle dataStyle;
+
+    private final int sampleRows;
+
+    // 采样行中各列的最大显示宽度（字符数，中文按2计）
+    private final int[] sampledWidths = new int[HEADERS.length];
+
+    private int rowNum = 1;
+
+    public ExcelContactWriter() {
+        this(DEFAULT_WINDOW_SIZE, DEFAULT_SAMPLE_ROWS);
+    }
+
+    /**
+     * @param windowSize 内存中保留的行数
+     * @param sampleRows 用于估算列宽的行数
+     */
+    public ExcelContactWriter(int windowSize, int sampleRows) {
+        this.workbook = new SXSSFWorkbook(windowSize);
+        this.workbook.setCompressTempFiles(true);
+        this.sheet = workbook.createSheet("联系人");
+        this.sampleRows = sampleRows;
+        this.dataStyle = createDataStyle(workbook);
+
+        CellStyle headerStyle = createHeaderStyle(workbook);
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(HEADERS[i]);
+            cell.setCellStyle(headerStyle);
+            sampledWidths[i] = displayWidth(HEADERS[i]);
+        }
+    }
+
+    /**
+     * 写入一个联系人
+     */
+    public void write(Contact contact) {
+        String[] values = {
+                contact.getId() == null ? "" : contact.getId().toString(),
+                contact.getName(),
+                contact.getPhone(),
+                contact.getEmail(),
+                contact.getWechat(),
+                contact.getQq(),
+                contact.getAddress(),
+                contact.getCompany(),
+                Boolean.TRUE.equals(contact.getBookmarked()) ? "是" : "否",
+                formatDateTime(contact.getCreatedTime()),
+                formatDateTime(contact.getUpdatedTime())
+        };
+
+        boolean sampling = rowNum <= sampleRows;
+        Row row = sheet.createRow(rowNum++);
+        for (int i = 0; i < values.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(values[i] != null ? values[i] : "");
+            cell.setCellStyle(dataStyle);
+            if (sampling && values[i] != null) {
+                sampledWidths[i] = Math.max(sampledWidths[i], displayWidth(values[i]));
+            }
+        }
+    }
+
+    /**
+     * 已写入的联系人数量
+     */
+    public int getRowCount() {
+        return rowNum - 1;
+    }
+
+    /**
+     * 设置列宽并将工作簿写出到输出流（不关闭输出流）
+     */
+    public void finish(OutputStream outputStream) throws IOException {
+        for (int i = 0; i < HEADERS.length; i++) {
+            int width = FIXED_COLUMNS[i] ? FIXED_WIDTH
+                    : Math.min(MAX_WIDTH, Math.max(MIN_WIDTH, sampledWidths[i] + 2));
+            sheet.setColumnWidth(i, width * 256);
+        }
+        workbook.write(outputStream);
+    }
+
+    /**
+     * 删除临时文件并释放资源
+     */
+    @Override
+    public void close() throws IOException {
+        workbook.dispose();
+        workbook.close();
+    }
+
+    /**
+     * 估算显示宽度：ASCII 字符按1计，其他字符（中文等）按2计
+     */
+    private static int displayWidth(String value) {
+        int width = 0;
+        for (int i = 0; i < value.length(); i++) {
+            width += value.charAt(i) < 0x80 ? 1 : 2;
+        }
+        return width;
+    }
+
+    private static CellStyle createHeaderStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setBold(true);
+        font.setFontHeightInPoints((short) 12);
+        style.setFont(font);
+        style.setAlignment(HorizontalAlignment.CENTER);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        return style;
+    }
+
+    private static CellStyle createDataStyle(Workbook workbook) {
+        CellStyle style = workbook.createCellStyle();
+        Font font = workbook.createFont();
+        font.setFontHeightInPoints((short) 11);
+        style.setFont(font);
+        style.setVerticalAlignment(VerticalAlignment.CENTER);
+        style.setWrapText(true);
+        style.setBorderBottom(BorderStyle.THIN);
+        style.setBorderTop(BorderStyle.THIN);
+        style.setBorderRight(BorderStyle.THIN);
+        style.setBorderLeft(BorderStyle.THIN);
+        return style;
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_FORMATTER) : "";
+    }
+}
@@ -160,12 +160,12 @@ public class ExcelUtil {
                     contact.setCompany(company.isEmpty() ? null : company);
                 }
 
-                // 收藏状态（从Excel读取，如果没有则为false）
+                // 收藏状态（从Excel读取，为空或缺失时为 null：新增时按未收藏处理，合并时保留原状态）
                 if (row.getCell(8) != null) {
                     String bookmarked = getCellValue(row.getCell(8));
-                    contact.setBookmarked("是".equalsIgnoreCase(bookmarked));
+                    contact.setBookmarked(bookmarked.isEmpty() ? null : "是".equalsIgnoreCase(bookmarked));
                 } else {
-                    contact.setBookmarked(false);
+                    contact.setBookmarked(null);
                 }
 
                 // 只有姓名和电话都有的联系人才会被导入
@@ -0,0 +1,51 @@
+package com.contacts.utils;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 后台任务执行器的创建与关闭
+ * 启用虚拟线程（spring.threads.virtual.enabled=true 且运行在 Java 21 上）时每个任务使用一个新的虚拟线程，
+ * 虚拟线程阻塞在 IO 上不占用平台线程，不需要池化，并发数由调用方控制；否则使用固定大小的线程池
+ */
+public class ExecutorUtil {
+
+    private ExecutorUtil() {
+    }
+
+    /**
+     * 创建执行器
+     * @param threadNamePrefix 线程名前缀
+     * @param threads 线程池大小（使用虚拟线程时忽略）
+     * @param queueCapacity 线程池的任务队列长度，小于0表示不限（使用虚拟线程时忽略）
+     * @param virtualThreads 是否使用虚拟线程，通常为 Threading.VIRTUAL.isActive(environment)
+     */
+    public static TaskExecutor create(String threadNamePrefix, int threads, int queueCapacity, boolean virtualThreads) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        if (queueCapacity >= 0) {
+            executor.setQueueCapacity(queueCapacity);
+        }
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 关闭由 create 创建的执行器，不再接受新任务
+     */
+    public static void shutdown(TaskExecutor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor simple) {
+            simple.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.contacts.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import net.sourceforge.pinyin4j.PinyinHelper;
+import net.sourceforge.pinyin4j.format.HanyuPinyinCaseType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinOutputFormat;
+import net.sourceforge.pinyin4j.format.HanyuPinyinToneType;
+import net.sourceforge.pinyin4j.format.HanyuPinyinVCharType;
+import net.sourceforge.pinyin4j.format.exception.BadHanyuPinyinOutputFormatCombination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 姓名拼音工具
+ * 汉字取第一个读音，连续的英文字母或数字视为一个音节，其他字符作为分隔符忽略
+ */
+public class PinyinUtil {
+
+    // 拼音音节之间的分隔符
+    public static final String SYLLABLE_SEPARATOR = " ";
+
+    private static final HanyuPinyinOutputFormat FORMAT = new HanyuPinyinOutputFormat();
+
+    static {
+        FORMAT.setCaseType(HanyuPinyinCaseType.LOWERCASE);
+        FORMAT.setToneType(HanyuPinyinToneType.WITHOUT_TONE);
+        FORMAT.setVCharType(HanyuPinyinVCharType.WITH_V);
+    }
+
+    /**
+     * 姓名的拼音键
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class NameKeys {
+        // 全拼，音节之间以空格分隔，如 "zhang san"
+        private final String pinyin;
+        // 首字母，如 "zs"
+        private final String initials;
+    }
+
+    /**
+     * 计算姓名的全拼和首字母
+     * @param name 姓名
+     * @return 拼音键，姓名中没有可转换的字符时全拼和首字母均为空
+     */
+    public static NameKeys of(String name) {
+        List<String> syllables = syllables(name);
+        if (syllables.isEmpty()) {
+            return new NameKeys(null, null);
+        }
+        StringBuilder initials = new StringBuilder(syllables.size());
+        for (String syllable : syllables) {
+            initials.append(syllable.charAt(0));
+        }
+        return new NameKeys(String.join(SYLLABLE_SEPARATOR, syllables), initials.toString());
+    }
+
+    /**
+     * 判断关键词是否可能是拼音或首字母（只包含英文字母、数字、空格和隔音符号，且至少有一个字母）
+     */
+    public static boolean isPinyinQuery(String keyword) {
+        boolean hasLetter = false;
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            if (isAsciiLetter(c)) {
+                hasLetter = true;
+            } else if (!isAsciiDigit(c) && c != ' ' && c != '\'') {
+                return false;
+            }
+        }
+        return hasLetter;
+    }
+
+    /**
+     * 归一化拼音关键词：转小写并去掉空格和隔音符号
+     */
+    public static String normalizeQuery(String keyword) {
+        StringBuilder builder = new StringBuilder(keyword.length());
+        for (int i = 0; i < keyword.length(); i++) {
+            char c = keyword.charAt(i);
+            if (c != ' ' && c != '\'') {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static List<String> syllables(String name) {
+        List<String> syllables = new ArrayList<>();
+        if (name == null) {
+            return syllables;
+        }
+
+        StringBuilder ascii = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (isAsciiLetter(c) || isAsciiDigit(c)) {
+                ascii.append(c);
+                continue;
+            }
+            flushAscii(ascii, syllables);
+
+            String pinyin = toPinyin(c);
+            if (pinyin != null) {
+                syllables.add(pinyin);
+            }
+        }
+        flushAscii(ascii, syllables);
+        return syllables;
+    }
+
+    private static void flushAscii(StringBuilder ascii, List<String> syllables) {
+        if (ascii.length() > 0) {
+            syllables.add(ascii.toString().toLowerCase(Locale.ROOT));
+            ascii.setLength(0);
+        }
+    }
+
+    private static String toPinyin(char c) {
+        try {
+            String[] readings = PinyinHelper.toHanyuPinyinStringArray(c, FORMAT);
+            return readings == null || readings.length == 0 ? null : readings[0];
+        } catch (BadHanyuPinyinOutputFormatCombination e) {
+            return null;
+        }
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,222 @@
+package com.contacts.validation;
+
+import com.contacts.entity.Contact;
+import com.contacts.exception.ValidationException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 联系人信息校验
+ * 校验的同时会规范化字段（去除前后空格、空字符串转为null），
+ * 供单个创建、批量创建和导入任务共用。
+ * 电话、邮箱、QQ 的格式用逐字符扫描判断，不使用正则，合法的联系人校验过程中不分配对象；
+ * 一次检查全部字段，收集所有错误后再抛出异常
+ */
+@Component
+public class ContactValidator {
+
+    // 各字段的长度上限，与 Contact 的列定义一致
+    static final int NAME_MAX_LENGTH = 100;
+    static final int WECHAT_MAX_LENGTH = 50;
+    static final int QQ_MAX_LENGTH = 20;
+    static final int ADDRESS_MAX_LENGTH = 200;
+    static final int COMPANY_MAX_LENGTH = 100;
+
+    /**
+     * 验证联系人信息的有效性
+     * @param contact 联系人对象
+     * @throws ValidationException 存在错误时抛出，消息为第一个错误，getFieldErrors() 包含全部错误
+     */
+    public void validate(Contact contact) {
+        Map<String, String> violations = check(contact);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations.values().iterator().next(), violations);
+        }
+    }
+
+    /**
+     * 检查联系人的全部字段，合法的字段会被规范化
+     * 收藏状态不做处理：合并时 null 表示保留原值，新增时由写入方按未收藏处理
+     * @param contact 联系人对象
+     * @return 字段名 -> 错误信息，按字段顺序排列；没有错误时返回空 Map
+     */
+    public Map<String, String> check(Contact contact) {
+        if (contact == null) {
+            return Map.of("contact", "联系人信息不能为空");
+        }
+        Map<String, String> violations = null;
+
+        // 姓名：必填
+        String name = trimToNull(contact.getName());
+        if (name == null) {
+            violations = addViolation(violations, "name", "联系人姓名不能为空");
+        } else if (name.length() > NAME_MAX_LENGTH) {
+            violations = addViolation(violations, "name", "联系人姓名长度不能超过" + NAME_MAX_LENGTH + "个字符");
+        } else {
+            contact.setName(name);
+        }
+
+        // 电话：必填，支持手机号和座机号
+        String phone = trimToNull(contact.getPhone());
+        if (phone == null) {
+            violations = addViolation(violations, "phone", "联系人电话不能为空");
+        } else if (!isValidPhoneNumber(phone)) {
+            violations = addViolation(violations, "phone", "电话号码格式不正确");
+        } else {
+            contact.setPhone(phone);
+        }
+
+        // 邮箱
+        String email = trimToNull(contact.getEmail());
+        if (email != null && !isValidEmail(email)) {
+            violations = addViolation(violations, "email", "邮箱格式不正确");
+        } else {
+            contact.setEmail(email);
+        }
+
+        // 微信账号
+        String wechat = trimToNull(contact.getWechat());
+        if (wechat != null && wechat.length() > WECHAT_MAX_LENGTH) {
+            violations = addViolation(violations, "wechat", "微信账号长度不能超过" + WECHAT_MAX_LENGTH + "个字符");
+        } else {
+            contact.setWechat(wechat);
+        }
+
+        // QQ账号
+        String qq = trimToNull(contact.getQq());
+        if (qq != null && !isValidQQ(qq)) {
+            violations = addViolation(violations, "qq", "QQ账号格式不正确");
+        } else if (qq != null && qq.length() > QQ_MAX_LENGTH) {
+            violations = addViolation(violations, "qq", "QQ账号长度不能超过" + QQ_MAX_LENGTH + "个字符");
+        } else {
+            contact.setQq(qq);
+        }
+
+        // 地址
+        String address = trimToNull(contact.getAddress());
+        if (address != null && address.length() > ADDRESS_MAX_LENGTH) {
+            violations = addViolation(violations, "address", "地址长度不能超过" + ADDRESS_MAX_LENGTH + "个字符");
+        } else {
+            contact.setAddress(address);
+        }
+
+        // 公司名称
+        String company = trimToNull(contact.getCompany());
+        if (company != null && company.length() > COMPANY_MAX_LENGTH) {
+            violations = addViolation(violations, "company", "公司名称长度不能超过" + COMPANY_MAX_LENGTH + "个字符");
+        } else {
+            contact.setCompany(company);
+        }
+
+        return violations == null ? Map.of() : violations;
+    }
+
+    /**
+     * 将 check 返回的全部错误合并为一条消息
+     */
+    public static String describe(Map<String, String> violations) {
+        return String.join("；", violations.values());
+    }
+
+    /**
+     * 验证电话号码格式
+     * 5-20位数字（1开头的11位手机号也在其中），或区号-号码形式的座机号，如 010-12345678 或 0591-1234567
+     * @param phone 去除前后空格的电话号码
+     * @return 是否有效
+     */
+    boolean isValidPhoneNumber(String phone) {
+        int length = phone.length();
+        int dash = phone.indexOf('-');
+        if (dash < 0) {
+            return length >= 5 && length <= 20 && isDigits(phone, 0, length);
+        }
+        int numberLength = length - dash - 1;
+        return (dash == 3 || dash == 4) && numberLength >= 7 && numberLength <= 8
+                && isDigits(phone, 0, dash) && isDigits(phone, dash + 1, length);
+    }
+
+    /**
+     * 验证邮箱格式
+     * 用户名由字母、数字和 +_.- 组成；域名由字母、数字和 .- 组成，最后一个点之后是至少2个字母的顶级域
+     * @param email 去除前后空格的邮箱地址
+     * @return 是否有效
+     */
+    boolean isValidEmail(String email) {
+        int length = email.length();
+        int at = email.indexOf('@');
+        if (at <= 0 || email.indexOf('@', at + 1) >= 0) {
+            return false;
+        }
+        int lastDot = email.lastIndexOf('.');
+        if (lastDot <= at + 1 || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        for (int i = at + 1; i < lastDot; i++) {
+            char c = email.charAt(i);
+            if (!isAsciiLetterOrDigit(c) && c != '.' && c != '-') {
+                return false;
+            }
+        }
+        for (int i = lastDot + 1; i < length; i++) {
+            if (!isAsciiLetter(email.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 验证QQ账号格式：5-11位数字，不能以0开头
+     * @param qq 去除前后空格的QQ账号
+     * @return 是否有效
+     */
+    boolean isValidQQ(String qq) {
+        int length = qq.length();
+        return length >= 5 && length <= 11 && qq.charAt(0) != '0' && isDigits(qq, 0, length);
+    }
+
+    private static Map<String, String> addViolation(Map<String, String> violations, String field, String message) {
+        if (violations == null) {
+            violations = new LinkedHashMap<>();
+        }
+        violations.put(field, message);
+        return violations;
+    }
+
+    /**
+     * 去除前后空格，空字符串返回null（没有空格时 trim 返回原字符串，不分配新对象）
+     */
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,35 @@
+package com.contacts.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionLimitingDataSourceTest {
+
+    @Test
+    public void testPermitsReleasedOnClose() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:limit-test", "sa", ""), 2, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(2, dataSource.getActiveConnections());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        // 重复关闭只释放一次许可
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.getActiveConnections());
+        try (Connection third = dataSource.getConnection()) {
+            assertTrue(third.isValid(1));
+            assertEquals(third, third);
+        }
+        second.close();
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+}
@@ -0,0 +1,30 @@
+package com.contacts.dedupe;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    public void testNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("138" + String.format("%08d", i));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("138" + String.format("%08d", i)));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("139" + String.format("%08d", i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "误判次数过多: " + falsePositives);
+
+        long insertions = filter.insertions();
+        filter.put("13800000000");
+        assertEquals(insertions, filter.insertions(), "重复插入不应计数");
+    }
+}
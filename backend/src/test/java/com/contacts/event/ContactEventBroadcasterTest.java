@@ -0,0 +1,116 @@
+package com.contacts.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContactEventBroadcasterTest {
+
+    /**
+     * 记录写出的消息，不经过 HTTP 连接
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> messages = new ArrayList<>();
+
+        boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String message = builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining());
+            // 订阅时的重连间隔不计入
+            if (!message.startsWith("retry:")) {
+                messages.add(message);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        String lastEventId() {
+            String message = messages.get(messages.size() - 1);
+            int start = message.indexOf("id:") + 3;
+            return message.substring(start, message.indexOf('\n', start));
+        }
+    }
+
+    // 手动执行的发送线程，用于模拟处理不及时的客户端
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+    private final ContactEventBroadcaster broadcaster =
+            new ContactEventBroadcaster(8, 4, 10, Duration.ofMinutes(1), tasks::add);
+
+    private void runSender() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private void publish(long id) {
+        broadcaster.onContactChanged(ContactChangedEvent.deleted(id));
+    }
+
+    @Test
+    public void testFanOutAndResumeWithLastEventId() {
+        RecordingEmitter first = new RecordingEmitter();
+        broadcaster.register(first, null, ContactEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        publish(1);
+        publish(2);
+        runSender();
+        assertEquals(2, first.messages.size());
+        assertTrue(first.messages.get(1).contains("event:contact"));
+        assertTrue(first.messages.get(1).contains("contactId=2"));
+
+        // 带 Last-Event-ID 重连时只补发之后的事件
+        String lastEventId = first.lastEventId();
+        publish(3);
+        RecordingEmitter resumed = new RecordingEmitter();
+        broadcaster.register(resumed, lastEventId, ContactEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        runSender();
+        assertEquals(1, resumed.messages.size());
+        assertTrue(resumed.messages.get(0).contains("contactId=3"));
+
+        // 不是本实例发出的ID无法补发，通知客户端重新加载
+        RecordingEmitter unknown = new RecordingEmitter();
+        broadcaster.register(unknown, "other-1", ContactEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        runSender();
+        assertEquals(List.of("event:reset\ndata:reload\n\n"), unknown.messages);
+    }
+
+    @Test
+    public void testOverflowPolicies() {
+        RecordingEmitter dropping = new RecordingEmitter();
+        RecordingEmitter disconnecting = new RecordingEmitter();
+        broadcaster.register(dropping, null, ContactEventBroadcaster.OverflowPolicy.DROP_OLDEST);
+        broadcaster.register(disconnecting, null, ContactEventBroadcaster.OverflowPolicy.DISCONNECT);
+
+        // 发送线程未运行期间积压超过队列容量（4）
+        for (long id = 1; id <= 6; id++) {
+            publish(id);
+        }
+        runSender();
+
+        assertTrue(dropping.messages.get(0).startsWith("event:reset"));
+        assertEquals(5, dropping.messages.size());
+        assertTrue(dropping.messages.get(4).contains("contactId=6"));
+        assertTrue(disconnecting.completed);
+        assertTrue(disconnecting.messages.isEmpty());
+
+        assertEquals(1, broadcaster.getStats().getSubscribers());
+        assertEquals(2, broadcaster.getStats().getDropped());
+        assertEquals(1, broadcaster.getStats().getOverflowDisconnects());
+    }
+}
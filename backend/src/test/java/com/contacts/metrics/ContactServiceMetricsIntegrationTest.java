@@ -0,0 +1,67 @@
+package com.contacts.metrics;
+
+import com.contacts.entity.Contact;
+import com.contacts.exception.ContactNotFoundException;
+import com.contacts.service.ContactService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.hamcrest.Matchers.containsString;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "contacts.cache.enabled=true")
+public class ContactServiceMetricsIntegrationTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testServiceTimerAndPrometheusEndpoint() throws Exception {
+        long found = count("getContactById", "SUCCESS");
+        long notFound = count("getContactById", "CLIENT_ERROR");
+
+        Long id = contactService.createContact(new Contact("指标测试", "15900000002", null, null, null)).getId();
+        contactService.getContactById(id);
+        assertThrows(ContactNotFoundException.class, () -> contactService.getContactById(Long.MAX_VALUE));
+
+        // 缓存未命中时 CachingContactService 再调用 ContactServiceImpl，只计一次
+        assertEquals(found + 1, count("getContactById", "SUCCESS"));
+        assertEquals(notFound + 1, count("getContactById", "CLIENT_ERROR"));
+
+        mockMvc.perform(get("/api/contacts/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "contacts_service_seconds_bucket{application=\"contacts-backend\",operation=\"getContactById\",outcome=\"SUCCESS\"")))
+                .andExpect(content().string(containsString("http_server_response_size_bytes_count")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("contacts_phone_filter_results_total")));
+    }
+
+    private long count(String operation, String outcome) {
+        Timer timer = meterRegistry.find(ContactServiceMetricsAspect.TIMER_NAME)
+                .tags("operation", operation, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,66 @@
+package com.contacts.metrics;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 断言操作发出的 SQL 语句数的 JUnit 扩展
+ * 统计当前线程上由 SqlStatementCounter 记录的语句，每个测试开始前清零：
+ * <pre>
+ * &#64;RegisterExtension
+ * final SqlStatementCountExtension sql = new SqlStatementCountExtension();
+ *
+ * sql.assertStatements(2, () -&gt; contactService.deleteContact(id));
+ * </pre>
+ * 在带 @Transactional 的测试中，已加载到持久化上下文的实体不会再查询，测量前应先 flush 并 clear
+ */
+public class SqlStatementCountExtension implements BeforeEachCallback {
+
+    private long start;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        reset();
+    }
+
+    public void reset() {
+        start = SqlStatementCounter.current();
+    }
+
+    /**
+     * 上次清零以来发出的语句数
+     */
+    public long count() {
+        return SqlStatementCounter.current() - start;
+    }
+
+    /**
+     * 执行操作并断言其恰好发出 expected 条语句
+     */
+    public void assertStatements(int expected, Executable operation) {
+        assertStatements(expected, () -> {
+            operation.execute();
+            return null;
+        });
+    }
+
+    /**
+     * 执行操作并断言其恰好发出 expected 条语句，返回操作的结果
+     */
+    public <T> T assertStatements(int expected, ThrowingSupplier<T> operation) {
+        long before = SqlStatementCounter.current();
+        T result;
+        try {
+            result = operation.get();
+        } catch (Throwable e) {
+            return fail("操作执行失败", e);
+        }
+        assertEquals(expected, SqlStatementCounter.current() - before, "SQL 语句数");
+        return result;
+    }
+}
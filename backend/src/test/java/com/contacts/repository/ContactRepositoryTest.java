@@ -1,9 +1,11 @@
 package com.contacts.repository;
 
+import com.contacts.dto.ContactSummary;
 import com.contacts.entity.Contact;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
@@ -52,4 +54,43 @@ public class ContactRepositoryTest {
         // 验证结果
         assertEquals(2, contacts.size());
     }
+
+    @Test
+    public void testKeysetPagination() {
+        // 准备测试数据
+        Contact contact1 = contactRepository.save(new Contact("王五", "13700137000", null, null, null));
+        Contact contact2 = contactRepository.save(new Contact("赵六", "13600136000", null, null, null));
+        Contact contact3 = contactRepository.save(new Contact("王五", "13500135000", null, null, null));
+
+        // 按ID翻页
+        List<Contact> firstPage = contactRepository.findPageAfterId(0L, PageRequest.of(0, 2));
+        assertEquals(2, firstPage.size());
+        List<Contact> secondPage = contactRepository.findPageAfterId(firstPage.get(1).getId(), PageRequest.of(0, 2));
+        assertEquals(1, secondPage.size());
+        assertEquals(contact3.getId(), secondPage.get(0).getId());
+
+        // 按姓名翻页，同名时按ID排序
+        List<Contact> byName = contactRepository.findPageAfterName("王五", contact1.getId(), PageRequest.of(0, 10));
+        assertEquals(2, byName.size());
+        assertEquals(contact3.getId(), byName.get(0).getId());
+        assertEquals(contact2.getId(), byName.get(1).getId());
+    }
+
+    @Test
+    public void testFindAllSummaries() {
+        // 准备测试数据
+        Contact withAvatar = new Contact("孙七", "13400134000", null, null, "C公司");
+        withAvatar.setAvatarHash("a".repeat(64));
+        Contact withoutAvatar = new Contact("周八", "13300133000", null, null, null);
+        contactRepository.save(withAvatar);
+        contactRepository.save(withoutAvatar);
+
+        List<ContactSummary> summaries = contactRepository.findAllSummaries();
+
+        // 验证结果：只有设置了头像的联系人才有头像地址
+        assertEquals(2, summaries.size());
+        assertEquals("C公司", summaries.get(0).getCompany());
+        assertEquals("/api/avatars/" + "a".repeat(64), summaries.get(0).getAvatarUrl());
+        assertNull(summaries.get(1).getAvatarUrl());
+    }
 }
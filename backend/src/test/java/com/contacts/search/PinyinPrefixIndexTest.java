@@ -0,0 +1,39 @@
+package com.contacts.search;
+
+import com.contacts.utils.PinyinUtil;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PinyinPrefixIndexTest {
+
+    @Test
+    public void testSearchByPinyinAndInitials() {
+        PinyinUtil.NameKeys zhangSanFeng = PinyinUtil.of("张三丰");
+        assertEquals("zhang san feng", zhangSanFeng.getPinyin());
+        assertEquals("zsf", zhangSanFeng.getInitials());
+
+        PinyinPrefixIndex index = new PinyinPrefixIndex();
+        index.put(1, zhangSanFeng.getPinyin(), zhangSanFeng.getInitials());
+        PinyinUtil.NameKeys tom = PinyinUtil.of("Tom李");
+        index.put(2, tom.getPinyin(), tom.getInitials());
+
+        assertArrayEquals(new int[]{1}, index.search("zhangs"));
+        assertArrayEquals(new int[]{1}, index.search("sanfeng"));
+        assertArrayEquals(new int[]{1}, index.search("zs"));
+        assertArrayEquals(new int[]{2}, index.search("toml"));
+        assertArrayEquals(new int[0], index.search("lix"));
+
+        String[] previous = index.remove(1);
+        assertArrayEquals(new int[0], index.search("zs"));
+        index.restore(1, previous);
+        assertArrayEquals(new int[]{1}, index.search("zs"));
+    }
+
+    @Test
+    public void testPinyinQuery() {
+        assertTrue(PinyinUtil.isPinyinQuery("Zhang San"));
+        assertFalse(PinyinUtil.isPinyinQuery("138"));
+        assertFalse(PinyinUtil.isPinyinQuery("张s"));
+        assertEquals("xian", PinyinUtil.normalizeQuery("Xi'an"));
+    }
+}
@@ -0,0 +1,37 @@
+package com.contacts.search;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void testSearchPutRemoveRestore() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "张三丰", "13800138000", "zhang@Example.com");
+        index.put(2, "张三", "13900139000", null);
+        index.put(3, "李四", "13800139999", "li@example.com");
+
+        assertArrayEquals(new int[]{1, 2}, index.search("张三"));
+        assertArrayEquals(new int[]{1, 3}, index.search("1380013"));
+        assertArrayEquals(new int[]{1, 3}, index.search("EXAMPLE"));
+        assertArrayEquals(new int[0], index.search("0zha"), "跨字段的片段不应匹配");
+
+        // 一、两个字符的关键词直接使用单字符、双字符片段的倒排列表
+        assertArrayEquals(new int[]{1, 2}, index.search("张"));
+        assertArrayEquals(new int[]{3}, index.search("李四"));
+        assertArrayEquals(new int[]{1, 3}, index.search("Ex"));
+        assertArrayEquals(new int[0], index.search("0z"), "跨字段的片段不应匹配");
+
+        String previous = index.put(1, "王五", "13700137000", null);
+        assertArrayEquals(new int[]{2}, index.search("张三"));
+
+        index.restore(1, previous);
+        assertArrayEquals(new int[]{1, 2}, index.search("张三"));
+
+        index.remove(2);
+        assertArrayEquals(new int[]{1}, index.search("张三"));
+        assertArrayEquals(new int[]{1}, index.search("张"));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,44 @@
+package com.contacts.service;
+
+import com.contacts.entity.Contact;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class AvatarServiceIntegrationTest {
+
+    @Autowired
+    private AvatarService avatarService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testMigrateInlineAvatars() {
+        // 旧版数据：头像以 base64 data URL 内联在 contacts.avatar 列中
+        String dataUrl = "data:image/png;base64,"
+                + Base64.getEncoder().encodeToString(new byte[]{(byte) 0x89, 'P', 'N', 'G', 1, 2, 3});
+        Long id = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Contact.ID_SEQUENCE, Long.class);
+        jdbcTemplate.update("INSERT INTO contacts (id, name, phone, avatar, bookmarked) VALUES (?, ?, ?, ?, FALSE)",
+                id, "旧头像", "15600000001", dataUrl);
+
+        assertTrue(avatarService.migrateInlineAvatars() >= 1);
+
+        Map<String, Object> row = jdbcTemplate.queryForMap("SELECT avatar, avatar_hash FROM contacts WHERE id = ?", id);
+        assertNull(row.get("avatar"));
+        String hash = (String) row.get("avatar_hash");
+        assertNotNull(hash);
+        assertTrue(avatarService.exists(hash));
+        assertArrayEquals(new byte[]{(byte) 0x89, 'P', 'N', 'G', 1, 2, 3},
+                avatarService.readContent(avatarService.find(hash).orElseThrow()).orElseThrow());
+    }
+}
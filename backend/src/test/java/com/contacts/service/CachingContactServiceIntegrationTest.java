@@ -0,0 +1,54 @@
+package com.contacts.service;
+
+import com.contacts.entity.Contact;
+import com.contacts.exception.ContactNotFoundException;
+import com.contacts.service.impl.CachingContactService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "contacts.cache.enabled=true")
+public class CachingContactServiceIntegrationTest {
+
+    @Autowired
+    private ContactService contactService;
+
+    @Test
+    public void testReadThroughAndInvalidationOnWrites() {
+        CachingContactService cachingService = assertInstanceOf(CachingContactService.class, contactService);
+        Long id = contactService.createContact(new Contact("缓存测试", "15900000001", null, null, null)).getId();
+
+        // 首次获取从数据库加载，再次获取不访问数据库
+        long hits = cachingService.getStats().getHitCount();
+        Contact cached = contactService.getContactById(id);
+        assertSame(cached, contactService.getContactById(id));
+        assertEquals(hits + 1, cachingService.getStats().getHitCount());
+
+        // 修改后条目失效，下次获取加载新数据
+        Contact changes = new Contact("缓存测试-修改", "15900000001", null, null, null);
+        assertEquals("缓存测试-修改", contactService.updateContact(id, changes).getName());
+        assertNotSame(cached, contactService.getContactById(id));
+        assertEquals("缓存测试-修改", contactService.getContactById(id).getName());
+
+        assertTrue(contactService.bookmarkContact(id).getBookmarked());
+        assertTrue(contactService.getContactById(id).getBookmarked());
+        assertFalse(contactService.toggleBookmark(id).getBookmarked());
+        assertFalse(contactService.getContactById(id).getBookmarked());
+
+        // 批量合并不经过缓存，提交后由变更事件使缓存失效
+        Contact merged = new Contact("缓存测试-合并", "15900000001", null, null, "新公司");
+        assertEquals(1, contactService.upsertContacts(List.of(merged)).getUpdated());
+        assertEquals("新公司", contactService.getContactById(id).getCompany());
+
+        contactService.deleteContact(id);
+        assertThrows(ContactNotFoundException.class, () -> contactService.getContactById(id));
+        assertTrue(cachingService.getStats().getLoadFailureCount() > 0);
+    }
+}
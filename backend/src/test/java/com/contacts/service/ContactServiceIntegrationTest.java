@@ -1,12 +1,29 @@
 package com.contacts.service;
 
+import com.contacts.dto.BatchCreateResponse;
+import com.contacts.dto.BatchItemResult;
+import com.contacts.dto.BatchUpsertResponse;
+import com.contacts.dto.BulkBookmarkResponse;
+import com.contacts.dto.BulkDeleteResponse;
+import com.contacts.dto.ContactChanges;
 import com.contacts.entity.Contact;
+import com.contacts.event.ContactChangedEvent;
+import com.contacts.exception.ContactNotFoundException;
+import com.contacts.exception.PreconditionFailedException;
+import com.contacts.exception.ValidationException;
+import com.contacts.metrics.SqlStatementCountExtension;
+import com.contacts.utils.ETagUtil;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -14,11 +31,24 @@ import static org.junit.jupiter.api.Assertions.*;
 @SpringBootTest
 @TestPropertySource(locations = "classpath:application-test.properties")
 @Transactional
+@RecordApplicationEvents
 public class ContactServiceIntegrationTest {
 
     @Autowired
     private ContactService contactService;
 
+    @Autowired
+    private ContactSyncService contactSyncService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @RegisterExtension
+    final SqlStatementCountExtension sql = new SqlStatementCountExtension();
+
     @Test
     public void testCreateAndRetrieveContact() {
         // 创建联系人
@@ -101,4 +131,209 @@ public class ContactServiceIntegrationTest {
         assertEquals(1, phoneResults.size());
         assertEquals("搜索测试张三", phoneResults.get(0).getName());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testStreamAllContacts() {
+        contactService.createContact(new Contact("流式测试甲", "15612345678", null, null, null));
+        contactService.createContact(new Contact("流式测试乙", "15712345678", null, null, null));
+
+        List<Contact> streamed = new ArrayList<>();
+        long count = contactService.streamAllContacts(streamed::add);
+
+        // 按ID顺序返回所有联系人
+        assertEquals(streamed.size(), count);
+        assertTrue(count >= 2);
+        for (int i = 1; i < streamed.size(); i++) {
+            assertTrue(streamed.get(i - 1).getId() < streamed.get(i).getId());
+        }
+    }
+
+    @Test
+    public void testAvatarStoredByContentHash() {
+        String dataUrl = "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg==";
+
+        Contact first = new Contact("头像测试甲", "15812345678", null, null, null, dataUrl);
+        Contact second = new Contact("头像测试乙", "15912345678", null, null, null, dataUrl);
+        Contact savedFirst = contactService.createContact(first);
+        Contact savedSecond = contactService.createContact(second);
+
+        // 头像转存后联系人只保存引用，相同图片引用同一个 hash
+        assertNull(savedFirst.getAvatar());
+        assertNotNull(savedFirst.getAvatarHash());
+        assertEquals(savedFirst.getAvatarHash(), savedSecond.getAvatarHash());
+        assertEquals("/api/avatars/" + savedFirst.getAvatarHash(), savedFirst.getAvatarUrl());
+    }
+
+    @Test
+    public void testCreateContactsInBatch() {
+        Contact existing = new Contact();
+        existing.setName("已存在");
+        existing.setPhone("15600000000");
+        contactService.createContact(existing);
+
+        List<Contact> contacts = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            contacts.add(new Contact("批量" + i, "1560000000" + i, null, null, null));
+        }
+        contacts.add(new Contact("号码已存在", "15600000000", null, null, null));
+        contacts.add(new Contact("批次内重复", "15600000001", null, null, null));
+        contacts.add(new Contact("", "15600000009", null, null, null));
+
+        BatchCreateResponse response = contactService.createContacts(contacts);
+
+        assertEquals(8, response.getTotal());
+        assertEquals(5, response.getCreated());
+        assertEquals(3, response.getFailed());
+        assertEquals(BatchItemResult.Status.DUPLICATE, response.getItems().get(5).getStatus());
+        assertEquals(BatchItemResult.Status.DUPLICATE, response.getItems().get(6).getStatus());
+        assertEquals(BatchItemResult.Status.INVALID, response.getItems().get(7).getStatus());
+        Long id = response.getItems().get(0).getId();
+        assertEquals("批量1", contactService.getContactById(id).getName());
+    }
+
+    @Test
+    public void testUpsertContactsByPhone() {
+        Contact changed = new Contact("合并前", "15500000001", "keep@example.com", "保留地址", "旧公司");
+        changed.setBookmarked(true);
+        Long changedId = contactService.createContact(changed).getId();
+        contactService.createContact(new Contact("未变化", "15500000002", null, null, null));
+
+        List<Contact> contacts = new ArrayList<>();
+        // 空字段和缺少的收藏列不覆盖原值
+        Contact incoming = new Contact("合并后", "15500000001", null, null, "新公司");
+        incoming.setBookmarked(null);
+        contacts.add(incoming);
+        contacts.add(new Contact("未变化", "15500000002", null, null, null));
+        contacts.add(new Contact("新增", "15500000003", null, null, null));
+        contacts.add(new Contact("新增", "abc", null, null, null));
+
+        BatchUpsertResponse response = contactService.upsertContacts(contacts);
+
+        assertEquals(1, response.getInserted());
+        assertEquals(1, response.getUpdated());
+        assertEquals(1, response.getUnchanged());
+        assertEquals(1, response.getFailed());
+        assertEquals(changedId, response.getItems().get(0).getId());
+        Contact merged = contactService.getContactById(changedId);
+        assertEquals("合并后", merged.getName());
+        assertEquals("新公司", merged.getCompany());
+        assertEquals("keep@example.com", merged.getEmail());
+        assertEquals("保留地址", merged.getAddress());
+        assertTrue(merged.getBookmarked());
+        assertEquals(1, contactService.searchContacts("合并后").size());
+        assertEquals("新增", contactService.getContactById(response.getItems().get(2).getId()).getName());
+    }
+
+    @Test
+    public void testBookmarkUpdatesAndBulkBookmark() {
+        Long first = contactService.createContact(new Contact("收藏一", "15300000001", null, null, null)).getId();
+        Long second = contactService.createContact(new Contact("收藏二", "15300000002", null, null, null)).getId();
+
+        assertTrue(contactService.toggleBookmark(first).getBookmarked());
+        assertFalse(contactService.toggleBookmark(first).getBookmarked());
+        assertTrue(contactService.bookmarkContact(second).getBookmarked());
+        assertTrue(contactService.bookmarkContact(second).getBookmarked());
+
+        // 重复和不存在的ID：去重后请求3个，只有 first 的状态发生变化，也只为 first 发布事件
+        applicationEvents.clear();
+        BulkBookmarkResponse response = contactService.setBookmarked(List.of(first, second, first, 999999L), true);
+        assertEquals(3, response.getRequested());
+        assertEquals(1, response.getUpdated());
+        assertEquals(List.of(first), changedContactIds());
+        assertTrue(contactService.getContactById(first).getBookmarked());
+
+        assertEquals(2, contactService.setBookmarked(List.of(first, second), false).getUpdated());
+        assertFalse(contactService.getContactById(second).getBookmarked());
+        assertThrows(ValidationException.class, () -> contactService.setBookmarked(List.of(), true));
+    }
+
+    @Test
+    public void testBulkDeleteContacts() {
+        Long first = contactService.createContact(new Contact("删除一", "15400000001", null, null, null)).getId();
+        Long second = contactService.createContact(new Contact("删除二", "15400000002", null, null, null)).getId();
+        Long kept = contactService.createContact(new Contact("删除保留", "15400000003", null, null, null)).getId();
+
+        applicationEvents.clear();
+        BulkDeleteResponse response = contactService.deleteContacts(List.of(first, second, first, 999999L));
+        assertEquals(3, response.getRequested());
+        assertEquals(2, response.getDeleted());
+        assertEquals(List.of(first, second), changedContactIds());
+        assertThrows(ContactNotFoundException.class, () -> contactService.getContactById(first));
+        assertEquals(List.of(kept), contactService.searchContacts("删除").stream().map(Contact::getId).toList());
+        assertFalse(contactService.isPhoneExists("15400000002"));
+
+        contactService.deleteContact(kept);
+        assertThrows(ContactNotFoundException.class, () -> contactService.deleteContact(kept));
+    }
+
+    @Test
+    public void testUpdateWithIfMatch() {
+        Contact saved = contactService.createContact(new Contact("条件更新", "15500000001", null, null, null));
+        String eTag = ETagUtil.of(saved.getId(), contactService.getContactUpdatedTime(saved.getId()).orElseThrow());
+        assertEquals(ETagUtil.of(saved), eTag);
+
+        Contact changes = new Contact("条件更新-修改", "15500000001", null, null, null);
+        assertThrows(PreconditionFailedException.class,
+                () -> contactService.updateContact(saved.getId(), changes, "\"" + saved.getId() + "-0\""));
+
+        Contact updated = contactService.updateContact(saved.getId(), changes, "\"other\", " + eTag);
+        assertEquals("条件更新-修改", updated.getName());
+        assertNotEquals(eTag, ETagUtil.of(updated));
+    }
+
+    @Test
+    public void testChangesSinceToken() {
+        Long removedId = contactService.createContact(new Contact("同步-删除", "15700000001", null, null, null)).getId();
+
+        // 分页完成全量同步
+        ContactChanges page = contactSyncService.getChanges(null, 2);
+        assertTrue(page.getDeleted().isEmpty());
+        List<Long> synced = new ArrayList<>(page.getChanges().stream().map(Contact::getId).toList());
+        while (page.isHasMore()) {
+            page = contactSyncService.getChanges(page.getNextToken(), 2);
+            page.getChanges().forEach(c -> synced.add(c.getId()));
+        }
+        assertTrue(synced.contains(removedId));
+        String token = page.getNextToken();
+
+        Long createdId = contactService.createContact(new Contact("同步-新增", "15700000002", null, null, null)).getId();
+        contactService.deleteContact(removedId);
+
+        ContactChanges changes = contactSyncService.getChanges(token, null);
+        assertFalse(changes.isHasMore());
+        assertTrue(changes.getChanges().stream().anyMatch(c -> c.getId().equals(createdId)));
+        assertTrue(changes.getChanges().stream().noneMatch(c -> c.getId().equals(removedId)));
+        assertEquals(List.of(removedId), changes.getDeleted());
+
+        assertThrows(ValidationException.class, () -> contactSyncService.getChanges("not-a-token", null));
+        assertThrows(ValidationException.class, () -> contactSyncService.getChanges(token, 0));
+    }
+
+    @Test
+    public void testStatementBudgets() {
+        Long id = contactService.createContact(new Contact("语句数", "15600000001", null, null, null)).getId();
+        // 测试事务中实体已在持久化上下文里，清空后才会像请求中那样查询数据库
+        entityManager.clear();
+
+        sql.assertStatements(1, () -> contactService.getContactById(id));
+        entityManager.clear();
+
+        // 查询 + 更新；号码未变时不检查重复
+        sql.assertStatements(2, () -> contactService.updateContact(id, new Contact("语句数-修改", "15600000001", null, null, null)));
+        entityManager.clear();
+
+        // 按条件更新 + 查询
+        sql.assertStatements(2, () -> contactService.bookmarkContact(id));
+        entityManager.clear();
+
+        sql.assertStatements(1, () -> contactService.getContactSummaryPage(null, null, 20));
+
+        // 写入删除记录 + 删除
+        sql.assertStatements(2, () -> contactService.deleteContact(id));
+        sql.assertStatements(1, () -> assertThrows(ContactNotFoundException.class, () -> contactService.getContactById(id)));
+    }
+
+    private List<Long> changedContactIds() {
+        return applicationEvents.stream(ContactChangedEvent.class).map(ContactChangedEvent::getContactId).toList();
+    }
+}
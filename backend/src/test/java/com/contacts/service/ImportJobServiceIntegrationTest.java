@@ -0,0 +1,79 @@
+package com.contacts.service;
+
+import com.contacts.dto.ImportJobStatus;
+import com.contacts.dto.ImportRowError;
+import com.contacts.entity.Contact;
+import com.contacts.importjob.ImportJob;
+import com.contacts.utils.ExcelUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = "contacts.import.chunk-size=7")
+public class ImportJobServiceIntegrationTest {
+
+    @Autowired
+    private ImportJobService importJobService;
+
+    @Autowired
+    private ContactService contactService;
+
+    @Test
+    public void testImportJobReportsProgressAndRowErrors() throws Exception {
+        Contact existing = new Contact("导入已存在", "15700000000", null, null, null);
+        contactService.createContact(existing);
+
+        List<Contact> rows = new ArrayList<>();
+        for (long i = 1; i <= 30; i++) {
+            rows.add(row(i, "导入" + i, String.valueOf(15700000000L + i)));
+        }
+        rows.add(row(31, "号码已存在", "15700000000"));
+        rows.add(row(32, "号码格式错误", "abc"));
+        rows.add(row(33, "文件内重复", "15700000005"));
+        MockMultipartFile file = new MockMultipartFile("file", "contacts.xlsx",
+                "application/octet-stream", ExcelUtil.exportToExcel(rows));
+
+        ImportJobStatus status = importJobService.submitExcelImport(file, ImportJob.Mode.CREATE);
+        for (int i = 0; i < 300 && !isFinished(status); i++) {
+            Thread.sleep(100);
+            status = importJobService.getJobStatus(status.getId()).orElseThrow();
+        }
+
+        assertEquals("COMPLETED", status.getStatus(), status.getMessage());
+        assertEquals(33, status.getRowsRead());
+        assertEquals(30, status.getInsertedRows());
+        assertEquals(2, status.getDuplicateRows());
+        assertEquals(1, status.getInvalidRows());
+        assertEquals(100.0, status.getProgress());
+        assertEquals(3, status.getErrors().size());
+        Map<Integer, String> errors = status.getErrors().stream()
+                .collect(Collectors.toMap(ImportRowError::getRow, ImportRowError::getMessage));
+        assertTrue(errors.get(32).contains("已存在"));
+        assertTrue(errors.get(33).contains("格式不正确"));
+        assertTrue(errors.get(34).contains("第 6 行"));
+        assertEquals(1, contactService.searchContactsByPhone("15700000005").size());
+        assertEquals(1, contactService.searchContactsByPhone("15700000030").size());
+    }
+
+    private static boolean isFinished(ImportJobStatus status) {
+        return "COMPLETED".equals(status.getStatus()) || "FAILED".equals(status.getStatus());
+    }
+
+    private static Contact row(long id, String name, String phone) {
+        Contact contact = new Contact(name, phone, null, null, null);
+        contact.setId(id);
+        contact.setBookmarked(false);
+        return contact;
+    }
+}
@@ -0,0 +1,48 @@
+package com.contacts.utils;
+
+import com.contacts.entity.Contact;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExcelContactReaderTest {
+
+    @Test
+    public void testReadExportedWorkbook() throws Exception {
+        List<Contact> contacts = new ArrayList<>();
+        for (long i = 1; i <= 3; i++) {
+            Contact contact = new Contact("读取测试" + i, "1580000000" + i, "read" + i + "@example.com", null, null);
+            contact.setId(i);
+            contact.setBookmarked(i == 2);
+            contacts.add(contact);
+        }
+
+        Path file = Files.createTempFile("contacts-reader-test-", ".xlsx");
+        try {
+            Files.write(file, ExcelUtil.exportToExcel(contacts));
+
+            List<Contact> read = new ArrayList<>();
+            List<Integer> rowNumbers = new ArrayList<>();
+            int count = ExcelContactReader.read(file, (contact, rowNumber) -> {
+                read.add(contact);
+                rowNumbers.add(rowNumber);
+            });
+
+            assertEquals(3, count);
+            assertEquals(List.of(2, 3, 4), rowNumbers);
+            assertEquals("读取测试1", read.get(0).getName());
+            assertEquals("15800000001", read.get(0).getPhone());
+            assertEquals("read1@example.com", read.get(0).getEmail());
+            assertNull(read.get(0).getAddress());
+            assertTrue(read.get(1).getBookmarked());
+            assertFalse(read.get(2).getBookmarked());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
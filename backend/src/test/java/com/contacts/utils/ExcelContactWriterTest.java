@@ -0,0 +1,41 @@
+package com.contacts.utils;
+
+import com.contacts.entity.Contact;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExcelContactWriterTest {
+
+    @Test
+    public void testWriteBeyondRowWindow() throws Exception {
+        Path file = Files.createTempFile("contacts-writer-test-", ".xlsx");
+        try {
+            // 行数超过内存窗口，较早的行会被写入临时文件
+            try (ExcelContactWriter writer = new ExcelContactWriter(10, 5);
+                 OutputStream outputStream = Files.newOutputStream(file)) {
+                for (long i = 1; i <= 50; i++) {
+                    Contact contact = new Contact("写出测试" + i, String.valueOf(15900000000L + i), null, null, null);
+                    contact.setId(i);
+                    writer.write(contact);
+                }
+                assertEquals(50, writer.getRowCount());
+                writer.finish(outputStream);
+            }
+
+            List<Contact> read = new ArrayList<>();
+            ExcelContactReader.read(file, (contact, rowNumber) -> read.add(contact));
+            assertEquals(50, read.size());
+            assertEquals("写出测试1", read.get(0).getName());
+            assertEquals("15900000050", read.get(49).getPhone());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
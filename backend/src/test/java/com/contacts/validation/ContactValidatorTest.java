@@ -0,0 +1,51 @@
+package com.contacts.validation;
+
+import com.contacts.entity.Contact;
+import com.contacts.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContactValidatorTest {
+
+    private final ContactValidator validator = new ContactValidator();
+
+    @Test
+    public void testScannersMatchOriginalRegexes() {
+        List<String> inputs = List.of(
+                "13800138000", "12800138000", "1380013800", "12345", "1234", "12345678901234567890",
+                "123456789012345678901", "010-12345678", "0591-1234567", "01-12345678", "010-123456",
+                "010-123456789", "010--1234567", "010-1234567-", "-1234567", "０１２３４５", "abc", "138 0013 8000",
+                "a@b.cn", "user.name+tag@example.com.cn", "a@b.c", "@b.cn", "a@.cn", "a@b..cn", "a@b", "a@@b.cn",
+                "a@b.c1", "a b@c.cn", "a@b-c.org", "中文@b.cn", "a@b.中国", "a.b@cn",
+                "12345", "123456789012", "01234", "1234a", "10000", "99999999999");
+        for (String input : inputs) {
+            assertEquals(input.matches("^1[3-9]\\d{9}$") || input.matches("^\\d{3,4}-\\d{7,8}$")
+                    || input.matches("^\\d{5,20}$"), validator.isValidPhoneNumber(input), "电话: " + input);
+            assertEquals(input.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"),
+                    validator.isValidEmail(input), "邮箱: " + input);
+            assertEquals(input.matches("^[1-9][0-9]{4,10}$"), validator.isValidQQ(input), "QQ: " + input);
+        }
+    }
+
+    @Test
+    public void testCollectsAllViolationsAndNormalizesFields() {
+        Contact contact = new Contact("  张三  ", "abc", "bad-email", "  ", null);
+        contact.setQq("0123");
+
+        ValidationException e = assertThrows(ValidationException.class, () -> validator.validate(contact));
+        assertEquals("电话号码格式不正确", e.getMessage());
+        assertEquals(List.of("phone", "email", "qq"), List.copyOf(e.getFieldErrors().keySet()));
+        assertEquals("张三", contact.getName());
+        assertNull(contact.getAddress());
+
+        Contact valid = new Contact(" 李四 ", " 13800138000 ", " ", null, " 公司 ");
+        assertEquals(Map.of(), validator.check(valid));
+        assertEquals("13800138000", valid.getPhone());
+        assertNull(valid.getEmail());
+        assertEquals("公司", valid.getCompany());
+    }
+}
@@ -1,12 +1,15 @@
 import request from '../utils/request'
 
 export const contactsAPI = {
-    // 获取所有联系人
-    getAllContacts() {
-        return request.get('/api/contacts')
+    // 获取所有联系人列表项（id、姓名、电话、公司、收藏、更新时间、头像地址）
+    // full 为 true 时返回完整联系人，只在需要邮箱、地址等字段时使用（按这些字段筛选、导出）
+    getAllContacts(full = false) {
+        return request.get('/api/contacts', {
+            params: full ? { full: true } : {}
+        })
     },
 
-    // 获取收藏的联系人
+    // 获取收藏的联系人列表项
     getBookmarkedContacts() {
         return request.get('/api/contacts/bookmarked')
     },
@@ -31,7 +34,7 @@ export const contactsAPI = {
         return request.delete(`/api/contacts/${id}`)
     },
 
-    // 搜索联系人
+    // 搜索联系人（姓名、电话、邮箱），返回列表项
     searchContacts(keyword) {
         return request.get('/api/contacts/search', {
             params: { keyword }